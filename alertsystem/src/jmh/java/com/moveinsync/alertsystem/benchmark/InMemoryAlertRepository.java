@@ -0,0 +1,101 @@
+package com.moveinsync.alertsystem.benchmark;
+
+import com.moveinsync.alertsystem.entity.Alert;
+import com.moveinsync.alertsystem.repository.AlertRepository;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link AlertRepository} stand-in over a plain list, so the benchmarks measure the
+ * rule and ingest code rather than a database. Only the windowed queries the
+ * evaluators use are implemented; every other method returns an empty/zero default.
+ */
+final class InMemoryAlertRepository {
+
+    private final List<Alert> alerts = new ArrayList<>();
+
+    private InMemoryAlertRepository() {
+    }
+
+    static AlertRepository create(List<Alert> seed) {
+        InMemoryAlertRepository store = new InMemoryAlertRepository();
+        store.alerts.addAll(seed);
+        return (AlertRepository) Proxy.newProxyInstance(AlertRepository.class.getClassLoader(),
+                new Class<?>[] { AlertRepository.class }, (proxy, method, args) -> store.invoke(method, args));
+    }
+
+    private Object invoke(Method method, Object[] args) {
+        switch (method.getName()) {
+            case "countBySourceTypeAndTimestampAfter":
+                return count((String) args[0], null, (LocalDateTime) args[1]);
+            case "countBySourceTypeAndDriverIdAndTimestampAfter":
+                return count((String) args[0], (String) args[1], (LocalDateTime) args[2]);
+            case "findTimestampsBySourceTypeAfter": {
+                List<LocalDateTime> timestamps = new ArrayList<>();
+                for (Alert alert : alerts) {
+                    if (matches(alert, (String) args[0], null, (LocalDateTime) args[1])) {
+                        timestamps.add(alert.getTimestamp());
+                    }
+                }
+                return timestamps;
+            }
+            case "findDriverTimestampsBySourceTypeAfter": {
+                List<Object[]> rows = new ArrayList<>();
+                for (Alert alert : alerts) {
+                    if (alert.getDriverId() != null && matches(alert, (String) args[0], null, (LocalDateTime) args[1])) {
+                        rows.add(new Object[] { alert.getDriverId(), alert.getTimestamp() });
+                    }
+                }
+                return rows;
+            }
+            case "hashCode":
+                return System.identityHashCode(this);
+            case "equals":
+                return false;
+            case "toString":
+                return "InMemoryAlertRepository(" + alerts.size() + " alerts)";
+            default:
+                return defaultFor(method.getReturnType());
+        }
+    }
+
+    private long count(String sourceType, String driverId, LocalDateTime after) {
+        long count = 0;
+        for (Alert alert : alerts) {
+            if (matches(alert, sourceType, driverId, after)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean matches(Alert alert, String sourceType, String driverId, LocalDateTime after) {
+        return sourceType.equals(alert.getSourceType())
+                && (driverId == null || driverId.equals(alert.getDriverId()))
+                && alert.getTimestamp().isAfter(after);
+    }
+
+    private static Object defaultFor(Class<?> type) {
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == Optional.class) {
+            return Optional.empty();
+        }
+        if (type == List.class || type == Iterable.class) {
+            return List.of();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,78 @@
+package com.moveinsync.alertsystem.benchmark;
+
+import com.moveinsync.alertsystem.service.DriverLeaderboard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top-offenders read and the open/close updates that keep it ranked, on a board
+ * pre-filled with {@code drivers} drivers. {@code churn} runs on several threads to
+ * include contention on the per-board lock.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LeaderboardBenchmark {
+
+    private static final String[] SOURCE_TYPES = { "overspeed", "feedback_negative", "compliance" };
+
+    @Param({ "500", "20000" })
+    public int drivers;
+
+    private DriverLeaderboard leaderboard;
+    private String[] driverIds;
+
+    @Setup
+    public void setUp() {
+        // Outside a transaction, opened/closed apply immediately; resync is never called
+        leaderboard = new DriverLeaderboard(InMemoryAlertRepository.create(List.of()));
+        driverIds = new String[drivers];
+        Random random = new Random(42);
+        for (int i = 0; i < drivers; i++) {
+            driverIds[i] = String.format("DRV-%05d", i);
+            int active = 1 + random.nextInt(20);
+            for (int j = 0; j < active; j++) {
+                leaderboard.opened(SOURCE_TYPES[random.nextInt(SOURCE_TYPES.length)], driverIds[i]);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> topOverall() {
+        return leaderboard.top(null, 10);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> topBySourceType() {
+        return leaderboard.top("overspeed", 10);
+    }
+
+    // One alert opening and another closing, as steady-state ingest plus auto-close do
+    @Benchmark
+    @Threads(4)
+    public void churn() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String sourceType = SOURCE_TYPES[random.nextInt(SOURCE_TYPES.length)];
+        leaderboard.opened(sourceType, driverIds[random.nextInt(drivers)]);
+        leaderboard.closed(sourceType, driverIds[random.nextInt(drivers)]);
+    }
+}
@@ -0,0 +1,122 @@
+package com.moveinsync.alertsystem.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moveinsync.alertsystem.dto.AlertMetadata;
+import com.moveinsync.alertsystem.dto.AlertRequestDTO;
+import com.moveinsync.alertsystem.service.MetadataParser;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metadata validation on the ingest path: bean validation of the request plus one
+ * parse through the shared {@link MetadataParser}. {@code perCallMapper} is the
+ * pre-MetadataParser shape (a fresh ObjectMapper per check) kept as a baseline, so
+ * the allocation column shows what sharing the reader saves.
+ *
+ * {@code tripleParseIngest} / {@code parseOnceIngest} compare the whole ingest path:
+ * before, validation, the driverId lookup and the fingerprint each parsed the metadata;
+ * now they share the tree the first parse memoised on the request. Run with
+ * {@code -prof gc} (the profile's default) to compare {@code gc.alloc.rate.norm}.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MetadataBenchmark {
+
+    private static final String[] SOURCE_TYPES = { "overspeed", "feedback_negative", "compliance" };
+    private static final int PAYLOADS = 1024;
+
+    private final String[] sourceTypes = new String[PAYLOADS];
+    private final String[] payloads = new String[PAYLOADS];
+    private ObjectMapper mapper;
+    private MetadataParser parser;
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < PAYLOADS; i++) {
+            sourceTypes[i] = SOURCE_TYPES[random.nextInt(SOURCE_TYPES.length)];
+            payloads[i] = Payloads.metadata(sourceTypes[i], random);
+        }
+        mapper = new ObjectMapper();
+        parser = new MetadataParser(mapper);
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public AlertMetadata sharedParser() {
+        return parser.parse(request().getMetadata());
+    }
+
+    @Benchmark
+    public JsonNode perCallMapper() throws Exception {
+        return new ObjectMapper().readTree(request().getMetadata());
+    }
+
+    // Before: a throwaway ObjectMapper for validation, then separate parses for driverId and the fingerprint
+    @Benchmark
+    public String tripleParseIngest() throws Exception {
+        String metadata = request().getMetadata();
+        new ObjectMapper().readTree(metadata);
+        JsonNode forDriver = mapper.readTree(metadata);
+        JsonNode forFingerprint = mapper.readTree(metadata);
+        return forDriver.path("driverID").asText() + forFingerprint.size();
+    }
+
+    // Now: the first parse is memoised on the request and reused by the later lookups
+    @Benchmark
+    public String parseOnceIngest() {
+        AlertRequestDTO dto = request();
+        AlertMetadata metadata = parser.parse(dto);
+        return parser.parse(dto).driverId() + metadata.json().size();
+    }
+
+    // What AlertService.validate does for each ingested alert
+    @Benchmark
+    public AlertMetadata validateAndParse() {
+        AlertRequestDTO dto = request();
+        Set<ConstraintViolation<AlertRequestDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException("Benchmark payload failed validation: " + violations);
+        }
+        return parser.parse(dto);
+    }
+
+    private AlertRequestDTO request() {
+        next = (next + 1) & (PAYLOADS - 1);
+        AlertRequestDTO dto = new AlertRequestDTO();
+        dto.setSourceType(sourceTypes[next]);
+        dto.setMetadata(payloads[next]);
+        return dto;
+    }
+}
@@ -0,0 +1,82 @@
+package com.moveinsync.alertsystem.benchmark;
+
+import com.moveinsync.alertsystem.entity.Alert;
+import com.moveinsync.alertsystem.entity.AlertStatus;
+import com.moveinsync.alertsystem.entity.Severity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Metadata shaped like what the ingest form and the gateways send (see the templates in
+ * the frontend's CreateAlert page), spread over a realistic number of drivers.
+ */
+final class Payloads {
+
+    static final int DRIVERS = 500;
+
+    private static final String[] LOCATIONS = { "Highway NH-44", "Outer Ring Road", "Airport Road", "MG Road" };
+    private static final String[] COMMENTS = { "Rash driving", "Late pickup", "Rude behaviour", "Unsafe lane changes" };
+    private static final String[] DOCUMENTS = { "license", "insurance", "permit", "fitness_certificate" };
+
+    private Payloads() {
+    }
+
+    static String driver(int i) {
+        return String.format("DRV-%04d", i % DRIVERS);
+    }
+
+    static String overspeed(Random random) {
+        int limit = 60 + 20 * random.nextInt(3);
+        return "{\"driverId\":\"" + driver(random.nextInt(DRIVERS)) + "\",\"vehicleId\":\"VH-" + random.nextInt(2000)
+                + "\",\"speed_kmph\":" + (limit + 5 + random.nextInt(50)) + ",\"limit_kmph\":" + limit
+                + ",\"location\":\"" + LOCATIONS[random.nextInt(LOCATIONS.length)] + "\"}";
+    }
+
+    static String feedback(Random random) {
+        return "{\"driverId\":\"" + driver(random.nextInt(DRIVERS)) + "\",\"rating\":" + (1 + random.nextInt(2))
+                + ",\"comment\":\"" + COMMENTS[random.nextInt(COMMENTS.length)] + "\",\"passenger\":\"P-"
+                + random.nextInt(10_000) + "\"}";
+    }
+
+    static String compliance(Random random) {
+        String status = random.nextInt(4) == 0 ? "document_valid" : "expired";
+        return "{\"driverId\":\"" + driver(random.nextInt(DRIVERS)) + "\",\"document_type\":\""
+                + DOCUMENTS[random.nextInt(DOCUMENTS.length)] + "\",\"expiry_date\":\"2024-0" + (1 + random.nextInt(9))
+                + "-15\",\"status\":\"" + status + "\"}";
+    }
+
+    static String metadata(String sourceType, Random random) {
+        return switch (sourceType) {
+            case "overspeed" -> overspeed(random);
+            case "feedback_negative" -> feedback(random);
+            default -> compliance(random);
+        };
+    }
+
+    /** Alerts spread over the last {@code spanMins} minutes, for seeding the repository stand-in. */
+    static List<Alert> history(String sourceType, int count, int spanMins, Random random) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Alert> alerts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Alert alert = alert(sourceType, driver(random.nextInt(DRIVERS)), metadata(sourceType, random));
+            alert.setAlertId((long) i + 1);
+            alert.setTimestamp(now.minusSeconds(random.nextInt(spanMins * 60)));
+            alerts.add(alert);
+        }
+        return alerts;
+    }
+
+    static Alert alert(String sourceType, String driverId, String metadata) {
+        Alert alert = new Alert();
+        alert.setSourceType(sourceType);
+        alert.setDriverId(driverId);
+        alert.setMetadata(metadata);
+        alert.setTimestamp(LocalDateTime.now());
+        alert.setSeverity(Severity.INFO);
+        alert.setStatus(AlertStatus.OPEN);
+        return alert;
+    }
+}
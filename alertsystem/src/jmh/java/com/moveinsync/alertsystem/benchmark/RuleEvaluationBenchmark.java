@@ -0,0 +1,167 @@
+package com.moveinsync.alertsystem.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moveinsync.alertsystem.engine.ComplianceRuleEvaluator;
+import com.moveinsync.alertsystem.engine.FeedbackRuleEvaluator;
+import com.moveinsync.alertsystem.engine.OverspeedRuleEvaluator;
+import com.moveinsync.alertsystem.engine.RuleEngine;
+import com.moveinsync.alertsystem.engine.RuleMetrics;
+import com.moveinsync.alertsystem.engine.RulePlan;
+import com.moveinsync.alertsystem.engine.ViolationWindowStore;
+import com.moveinsync.alertsystem.entity.Alert;
+import com.moveinsync.alertsystem.entity.AlertStatus;
+import com.moveinsync.alertsystem.repository.AlertRepository;
+import com.moveinsync.alertsystem.service.MetadataParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-alert rule step of ingest: {@code record} + {@code evaluate} for each evaluator,
+ * and the full dispatch through the compiled rules.json snapshot as AlertService runs it.
+ *
+ * {@code windowStore=true} is the production default (in-memory violation windows);
+ * {@code false} counts from the repository, here an in-memory list seeded with
+ * {@code history} alerts, which shows the cost of the scan the window store replaces.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RuleEvaluationBenchmark {
+
+    private static final String[] SOURCE_TYPES = { "overspeed", "feedback_negative", "compliance" };
+    private static final int ALERTS = 1024;
+
+    @Param({ "true", "false" })
+    public boolean windowStore;
+
+    @Param({ "2000" })
+    public int history;
+
+    private RuleEngine ruleEngine;
+    private RuleMetrics ruleMetrics;
+    private RulePlan overspeed;
+    private RulePlan feedback;
+    private RulePlan compliance;
+
+    private List<Alert> overspeedAlerts;
+    private List<Alert> feedbackAlerts;
+    private List<Alert> complianceAlerts;
+    private List<Alert> mixedAlerts;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        List<Alert> seed = new ArrayList<>();
+        seed.addAll(Payloads.history("overspeed", history, 60, random));
+        seed.addAll(Payloads.history("feedback_negative", history / 10, 1440, random));
+        AlertRepository repository = InMemoryAlertRepository.create(seed);
+
+        ViolationWindowStore store = new ViolationWindowStore(windowStore);
+        ruleEngine = new RuleEngine(List.of(
+                new OverspeedRuleEvaluator(repository, store),
+                new FeedbackRuleEvaluator(repository, store),
+                new ComplianceRuleEvaluator()),
+                new DefaultResourceLoader(), "classpath:rules.json");
+        ruleEngine.loadRules(); // also warms the window store from the seeded alerts
+        ruleMetrics = new RuleMetrics(new SimpleMeterRegistry());
+        overspeed = ruleEngine.planFor("overspeed");
+        feedback = ruleEngine.planFor("feedback_negative");
+        compliance = ruleEngine.planFor("compliance");
+
+        MetadataParser parser = new MetadataParser(new ObjectMapper());
+        overspeedAlerts = alerts("overspeed", parser, random);
+        feedbackAlerts = alerts("feedback_negative", parser, random);
+        complianceAlerts = alerts("compliance", parser, random);
+        mixedAlerts = new ArrayList<>(ALERTS);
+        for (int i = 0; i < ALERTS; i++) {
+            mixedAlerts.add(alert(SOURCE_TYPES[random.nextInt(SOURCE_TYPES.length)], parser, random));
+        }
+    }
+
+    // Keeps the reused alerts inside their rule windows for long runs
+    @Setup(Level.Iteration)
+    public void refreshTimestamps() {
+        LocalDateTime now = LocalDateTime.now();
+        for (List<Alert> alerts : List.of(overspeedAlerts, feedbackAlerts, complianceAlerts, mixedAlerts)) {
+            alerts.forEach(alert -> alert.setTimestamp(now));
+        }
+    }
+
+    @Benchmark
+    public AlertStatus overspeed() {
+        return run(overspeed, nextOf(overspeedAlerts));
+    }
+
+    @Benchmark
+    public AlertStatus feedback() {
+        return run(feedback, nextOf(feedbackAlerts));
+    }
+
+    @Benchmark
+    public AlertStatus compliance() {
+        return run(compliance, nextOf(complianceAlerts));
+    }
+
+    // Snapshot lookup + record + timed evaluate over a mix of sourceTypes, as in AlertService.createAlert
+    @Benchmark
+    public AlertStatus dispatch() {
+        Alert alert = nextOf(mixedAlerts);
+        alert.setStatus(AlertStatus.OPEN);
+        RulePlan plan = ruleEngine.planFor(alert.getSourceType());
+        plan.record(alert);
+        ruleMetrics.evaluate(plan, alert);
+        return alert.getStatus();
+    }
+
+    private static AlertStatus run(RulePlan plan, Alert alert) {
+        alert.setStatus(AlertStatus.OPEN);
+        plan.record(alert);
+        plan.evaluate(alert);
+        return alert.getStatus();
+    }
+
+    private Alert nextOf(List<Alert> alerts) {
+        next = (next + 1) & (ALERTS - 1);
+        return alerts.get(next);
+    }
+
+    private static List<Alert> alerts(String sourceType, MetadataParser parser, Random random) {
+        List<Alert> alerts = new ArrayList<>(ALERTS);
+        for (int i = 0; i < ALERTS; i++) {
+            alerts.add(alert(sourceType, parser, random));
+        }
+        return alerts;
+    }
+
+    // Parsed and driver-tagged the way ingest hands alerts to the rules
+    private static Alert alert(String sourceType, MetadataParser parser, Random random) {
+        String metadata = Payloads.metadata(sourceType, random);
+        Alert alert = Payloads.alert(sourceType, null, metadata);
+        alert.setParsedMetadata(parser.parse(metadata));
+        alert.setDriverId(alert.getParsedMetadata().driverId());
+        return alert;
+    }
+}
@@ -0,0 +1,54 @@
+package com.moveinsync.alertsystem.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aligns the pooled id sequences with rows written before the switch from
+ * IDENTITY to SEQUENCE generation.
+ *
+ * MySQL has no native sequences, so Hibernate emulates {@code alert_seq} and
+ * {@code alert_history_seq} with single-row tables that start at 1. Without this
+ * bump the first allocated block would collide with existing primary keys.
+ */
+@Component
+public class IdSequenceInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceInitializer.class);
+
+    // Must match the allocationSize on the entities' @SequenceGenerator
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // EntityManagerFactory is injected only so the schema update has run before we touch the tables
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignSequences() {
+        align("alert_seq", "alert", "alert_id");
+        align("alert_history_seq", "alert_history", "history_id");
+    }
+
+    private void align(String sequenceTable, String table, String idColumn) {
+        try {
+            Long maxId = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(MAX(" + idColumn + "), 0) FROM " + table, Long.class);
+            long floor = (maxId == null ? 0 : maxId) + ALLOCATION_SIZE + 1;
+            int updated = jdbcTemplate.update(
+                    "UPDATE " + sequenceTable + " SET next_val = ? WHERE next_val < ?", floor, floor);
+            if (updated > 0) {
+                log.info("Advanced {} to {} (max {}.{} = {})", sequenceTable, floor, table, idColumn, maxId);
+            }
+        } catch (Exception e) {
+            // Databases with native sequences don't have the emulation table; nothing to align
+            log.debug("Skipping id alignment for {}: {}", sequenceTable, e.getMessage());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.moveinsync.alertsystem.config;
 
-import com.moveinsync.alertsystem.service.AlertService;
+import com.moveinsync.alertsystem.engine.RuleEngine;
+import com.moveinsync.alertsystem.engine.RuleSnapshot;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.context.annotation.Bean;
@@ -11,12 +12,15 @@ public class MonitoringConfig {
 
 
     @Bean
-    public HealthIndicator ruleEngineHealth(AlertService alertService) {
+    public HealthIndicator ruleEngineHealth(RuleEngine ruleEngine) {
         return () -> {
             // Check if the dynamic DSL rules from rules.json are successfully loaded
-            if (alertService.getActiveRules() != null && !alertService.getActiveRules().isEmpty()) {
+            RuleSnapshot snapshot = ruleEngine.getSnapshot();
+            if (snapshot != null && !snapshot.rules().isEmpty()) {
                 return Health.up()
-                        .withDetail("rulesCount", alertService.getActiveRules().size())
+                        .withDetail("rulesCount", snapshot.rules().size())
+                        .withDetail("snapshotVersion", snapshot.version())
+                        .withDetail("loadedAt", snapshot.loadedAt().toString())
                         .withDetail("engineStatus", "Active and Rules Loaded")
                         .build();
             }
@@ -26,4 +30,4 @@ public class MonitoringConfig {
                     .build();
         };
     }
-}
\ No newline at end of file
+}
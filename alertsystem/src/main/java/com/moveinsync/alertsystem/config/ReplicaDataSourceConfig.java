@@ -0,0 +1,68 @@
+package com.moveinsync.alertsystem.config;
+
+import com.moveinsync.alertsystem.job.ClusterCoordinator;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Read replica support ({@code alert.replica.enabled}). The application's DataSource
+ * becomes a {@link ReplicaRoutingDataSource} over the usual {@code spring.datasource.*}
+ * pool (the primary) and a second pool on {@code alert.replica.datasource.*}. Pool
+ * settings for the replica go under {@code alert.replica.datasource.hikari.*}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "alert.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    // Built the way Boot builds its own pool, which backs off once any DataSource bean exists
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("alert.replica.datasource.hikari")
+    public HikariDataSource replicaDataSource(@Value("${alert.replica.datasource.url}") String url,
+            @Value("${alert.replica.datasource.username:${spring.datasource.username:}}") String username,
+            @Value("${alert.replica.datasource.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica) {
+        return new ReplicaRoutingDataSource(primary, replica);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            ClusterCoordinator clusterCoordinator,
+            @Value("${alert.replica.max-lag-ms:5000}") long maxLagMs,
+            MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(new JdbcTemplate(primary), new JdbcTemplate(replica),
+                clusterCoordinator.getNodeId(), maxLagMs, meterRegistry);
+    }
+}
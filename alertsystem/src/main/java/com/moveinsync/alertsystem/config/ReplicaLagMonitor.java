@@ -0,0 +1,84 @@
+package com.moveinsync.alertsystem.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Measures how far the read replica trails the primary. Each check reads this node's
+ * {@code replica_heartbeat} row from the replica, then writes a new beat to the
+ * primary; the age of the beat the replica shows bounds how stale its data is. Both
+ * times come from this node's clock, so no cross-host skew is involved.
+ *
+ * The replica counts as fresh while that lag is within {@code alert.replica.max-lag-ms}.
+ * It starts out stale, and turns stale again when a check fails, so an unreachable
+ * or stopped replica sends reads back to the primary.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final String nodeId;
+    private final long maxLagMs;
+
+    private volatile boolean fresh;
+    private volatile long lagMs = -1;
+
+    public ReplicaLagMonitor(JdbcTemplate primary, JdbcTemplate replica, String nodeId, long maxLagMs,
+            MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.nodeId = nodeId;
+        this.maxLagMs = maxLagMs;
+        Gauge.builder("alert.replica.lag", this, monitor -> monitor.lagMs)
+                .description("Read replica lag in milliseconds at the last check; -1 when unknown")
+                .register(meterRegistry);
+    }
+
+    public boolean isFresh() {
+        return fresh;
+    }
+
+    @Scheduled(fixedDelayString = "${alert.replica.check-ms:1000}")
+    public void check() {
+        LocalDateTime now = LocalDateTime.now();
+        // Read before writing: the beat seen is then at least one check old, so lag is never under-reported
+        try {
+            List<Timestamp> seen = replica.queryForList("SELECT beat FROM replica_heartbeat WHERE node_id = ?",
+                    Timestamp.class, nodeId);
+            long lag = seen.isEmpty() || seen.get(0) == null ? -1
+                    : Duration.between(seen.get(0).toLocalDateTime(), now).toMillis();
+            update(lag, lag >= 0 && lag <= maxLagMs);
+        } catch (DataAccessException e) {
+            update(-1, false);
+            log.debug("Replica lag check failed: {}", e.getMessage());
+        }
+        try {
+            Timestamp beat = Timestamp.valueOf(now);
+            if (primary.update("UPDATE replica_heartbeat SET beat = ? WHERE node_id = ?", beat, nodeId) == 0) {
+                primary.update("INSERT INTO replica_heartbeat (node_id, beat) VALUES (?, ?)", nodeId, beat);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Replica heartbeat write failed: {}", e.getMessage());
+        }
+    }
+
+    private void update(long lag, boolean nowFresh) {
+        lagMs = lag;
+        if (nowFresh != fresh) {
+            log.info("Read replica {} (lag {} ms)", nowFresh ? "in use" : "bypassed", lag);
+        }
+        fresh = nowFresh;
+    }
+}
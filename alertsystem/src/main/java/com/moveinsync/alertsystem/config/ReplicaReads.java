@@ -0,0 +1,75 @@
+package com.moveinsync.alertsystem.config;
+
+import com.moveinsync.alertsystem.config.ReplicaRoutingDataSource.Target;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Read-only transactions for the dashboard and listing endpoints, served by the read
+ * replica ({@code alert.replica.enabled}) while {@link ReplicaLagMonitor} reports it
+ * fresh, and by the primary otherwise.
+ *
+ * Only reads that go through here can reach the replica. Everything else, including
+ * the rule evaluators' window queries, the jobs and Spring Data's own read-only
+ * transactions, stays on the primary. A read inside an open transaction also stays
+ * there, so it sees that transaction's writes.
+ */
+@Component
+public class ReplicaReads {
+
+    private final TransactionTemplate readOnlyTemplate;
+    // Null when no replica is configured
+    private final ReplicaLagMonitor lagMonitor;
+    // Indexed by Target ordinal
+    private final Counter[] reads;
+
+    public ReplicaReads(PlatformTransactionManager transactionManager,
+            ObjectProvider<ReplicaLagMonitor> lagMonitor,
+            MeterRegistry meterRegistry) {
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.lagMonitor = lagMonitor.getIfAvailable();
+        this.reads = new Counter[Target.values().length];
+        for (Target target : Target.values()) {
+            reads[target.ordinal()] = Counter.builder("alert.replica.reads")
+                    .description("Dashboard and listing reads by the database that served them")
+                    .tag("target", target.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+    }
+
+    public <T> T read(Supplier<T> query) {
+        return readOn(target(), query);
+    }
+
+    /** Like {@link #read}, but a miss on the replica is retried on the primary (it may not have the row yet). */
+    public <T> Optional<T> find(Supplier<Optional<T>> query) {
+        Target target = target();
+        Optional<T> found = readOn(target, query);
+        return found.isEmpty() && target == Target.REPLICA ? readOn(Target.PRIMARY, query) : found;
+    }
+
+    private Target target() {
+        return lagMonitor != null && lagMonitor.isFresh()
+                && !TransactionSynchronizationManager.isActualTransactionActive() ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    private <T> T readOn(Target target, Supplier<T> query) {
+        reads[target.ordinal()].increment();
+        Target previous = ReplicaRoutingDataSource.use(target);
+        try {
+            return readOnlyTemplate.execute(tx -> query.get());
+        } finally {
+            ReplicaRoutingDataSource.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.moveinsync.alertsystem.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Hands out primary connections unless the current thread is inside a
+ * {@link ReplicaReads} scope that chose the replica. The choice is made when the
+ * scope opens, before its transaction takes a connection, so every statement of a
+ * transaction runs on the same database.
+ */
+final class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Target> CURRENT = new ThreadLocal<>();
+
+    ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    /** Routes this thread's new connections to {@code target}; returns the previous choice for {@link #restore}. */
+    static Target use(Target target) {
+        Target previous = CURRENT.get();
+        CURRENT.set(target);
+        return previous;
+    }
+
+    static void restore(Target previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    // No scope means the primary (the default target)
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return CURRENT.get();
+    }
+}
@@ -0,0 +1,52 @@
+package com.moveinsync.alertsystem.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops indexes the entities no longer declare. {@code ddl-auto=update} only ever adds
+ * indexes, so without this a retired one keeps costing every write on existing installs.
+ * MySQL only; a fresh embedded database never had them.
+ */
+@Component
+public class RetiredIndexCleanup {
+
+    private static final Logger log = LoggerFactory.getLogger(RetiredIndexCleanup.class);
+
+    // Table and index; idx_status is the leading column of idx_status_timestamp and idx_status_driver
+    private static final String[][] RETIRED = { { "alert", "idx_status" } };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SqlDialect sqlDialect;
+
+    // EntityManagerFactory is injected only so the schema update has run before we touch the tables
+    public RetiredIndexCleanup(JdbcTemplate jdbcTemplate, SqlDialect sqlDialect,
+            EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sqlDialect = sqlDialect;
+    }
+
+    @PostConstruct
+    public void dropRetiredIndexes() {
+        if (!sqlDialect.isMySql()) {
+            return;
+        }
+        for (String[] index : RETIRED) {
+            try {
+                Integer present = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.statistics "
+                        + "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?",
+                        Integer.class, index[0], index[1]);
+                if (present != null && present > 0) {
+                    jdbcTemplate.execute("ALTER TABLE " + index[0] + " DROP INDEX " + index[1]);
+                    log.info("Dropped retired index {}.{}", index[0], index[1]);
+                }
+            } catch (Exception e) {
+                log.warn("Could not drop retired index {}.{}: {}", index[0], index[1], e.getMessage());
+            }
+        }
+    }
+}
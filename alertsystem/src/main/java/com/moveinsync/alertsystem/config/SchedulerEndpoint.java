@@ -0,0 +1,25 @@
+package com.moveinsync.alertsystem.config;
+
+import com.moveinsync.alertsystem.job.ClusterCoordinator;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// GET /actuator/scheduler — lease holders, live nodes and last-run stats of clustered jobs
+@Component
+@Endpoint(id = "scheduler")
+public class SchedulerEndpoint {
+
+    private final ClusterCoordinator clusterCoordinator;
+
+    public SchedulerEndpoint(ClusterCoordinator clusterCoordinator) {
+        this.clusterCoordinator = clusterCoordinator;
+    }
+
+    @ReadOperation
+    public Map<String, Object> scheduler() {
+        return clusterCoordinator.describe();
+    }
+}
@@ -1,6 +1,7 @@
 package com.moveinsync.alertsystem.config;
 
 import com.moveinsync.alertsystem.security.JwtRequestFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -56,6 +57,8 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
+                        // Async re-dispatches of an already authenticated request (SSE stream)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Require ADMIN role for Actuator endpoints only
                         .requestMatchers("/actuator/**").hasRole("ADMIN")
                         // All other /api/** endpoints require authentication (JWT)
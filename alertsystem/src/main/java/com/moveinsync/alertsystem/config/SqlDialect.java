@@ -0,0 +1,52 @@
+package com.moveinsync.alertsystem.config;
+
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * The few native statements that can't be written portably branch on this.
+ *
+ * Production runs on MySQL. The {@code local} profile and the load harness run on H2
+ * in MySQL mode, which accepts ON DUPLICATE KEY UPDATE, UPDATE ... LIMIT and
+ * SELECT ... FOR UPDATE as written, but has no DATE_FORMAT or JSON_* functions.
+ */
+@Component
+public class SqlDialect {
+
+    private final DataSource dataSource;
+    private volatile Boolean mySql;
+
+    public SqlDialect(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    // Resolved on first use so creating the bean doesn't need a connection
+    public boolean isMySql() {
+        Boolean resolved = mySql;
+        if (resolved == null) {
+            try {
+                String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+                resolved = product == null || product.toLowerCase().contains("mysql")
+                        || product.toLowerCase().contains("mariadb");
+            } catch (MetaDataAccessException e) {
+                resolved = true;
+            }
+            mySql = resolved;
+        }
+        return resolved;
+    }
+
+    /** Start of the hour containing {@code column}, as a datetime. */
+    public String hourBucket(String column) {
+        return isMySql() ? "DATE_FORMAT(" + column + ", '%Y-%m-%d %H:00:00')" : "DATE_TRUNC('HOUR', " + column + ")";
+    }
+
+    /** Start of the day containing {@code column}. */
+    public String dayBucket(String column) {
+        return isMySql() ? "DATE(" + column + ")" : "DATE_TRUNC('DAY', " + column + ")";
+    }
+}
@@ -1,9 +1,16 @@
 package com.moveinsync.alertsystem.controller;
 
+import com.moveinsync.alertsystem.dto.AlertFilterDTO;
 import com.moveinsync.alertsystem.dto.AlertRequestDTO;
+import com.moveinsync.alertsystem.dto.AlertSliceDTO;
+import com.moveinsync.alertsystem.dto.AlertSummaryDTO;
+import com.moveinsync.alertsystem.dto.BatchIngestResponseDTO;
+import com.moveinsync.alertsystem.dto.IngestTicketDTO;
 import com.moveinsync.alertsystem.entity.Alert;
 import com.moveinsync.alertsystem.entity.AlertHistory;
+import com.moveinsync.alertsystem.exception.DuplicateAlertException;
 import com.moveinsync.alertsystem.service.AlertService;
+import com.moveinsync.alertsystem.service.IngestPipeline;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -12,26 +19,67 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/alerts") // Base URL for this controller
 public class AlertController {
 
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private static final Set<String> SORTABLE_FIELDS = Set.of("timestamp", "alertId", "severity", "status", "sourceType");
+
     private final AlertService alertService;
+    private final IngestPipeline ingestPipeline;
 
-    public AlertController(AlertService alertService) {
+    public AlertController(AlertService alertService, IngestPipeline ingestPipeline) {
         this.alertService = alertService;
+        this.ingestPipeline = ingestPipeline;
     }
 
     // This endpoint handles POST requests to ingest new alerts
     @PostMapping
-    public ResponseEntity<Alert> ingestAlert(@Valid @RequestBody AlertRequestDTO requestDTO) {
+    public ResponseEntity<Alert> ingestAlert(@Valid @RequestBody AlertRequestDTO requestDTO,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        applyIdempotencyKey(requestDTO, idempotencyKey);
+        try {
+            Alert savedAlert = alertService.createAlert(requestDTO);
+
+            // Return a 201 Created status along with the saved data
+            return new ResponseEntity<>(savedAlert, HttpStatus.CREATED);
+        } catch (DuplicateAlertException e) {
+            // A retry of something already stored: answer with the original, as the first call would have
+            return ResponseEntity.ok(alertService.getAlertById(e.getAlertId()));
+        }
+    }
+
+    // POST: Accept an alert for background processing; 202 with a tracking id, 429 when the buffer is full
+    @PostMapping("/async")
+    public ResponseEntity<IngestTicketDTO> ingestAlertAsync(@Valid @RequestBody AlertRequestDTO requestDTO,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        applyIdempotencyKey(requestDTO, idempotencyKey);
+        IngestTicketDTO ticket = ingestPipeline.submit(requestDTO);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/alerts/ingest/" + ticket.getTrackingId()))
+                .body(ticket);
+    }
+
+    // GET: Outcome of an async submission (QUEUED, PERSISTED, DUPLICATE, REJECTED or FAILED)
+    @GetMapping("/ingest/{trackingId}")
+    public ResponseEntity<IngestTicketDTO> getIngestStatus(@PathVariable String trackingId) {
+        return ResponseEntity.ok(ingestPipeline.status(trackingId));
+    }
+
+    // POST: Ingest many alerts in one request; invalid items are reported per index, not failed as a whole
+    @PostMapping("/batch")
+    public ResponseEntity<BatchIngestResponseDTO> ingestAlerts(@RequestBody List<AlertRequestDTO> requestDTOs) {
 
-        Alert savedAlert = alertService.createAlert(requestDTO);
+        BatchIngestResponseDTO response = alertService.createAlerts(requestDTOs);
 
-        // Return a 201 Created status along with the saved data
-        return new ResponseEntity<>(savedAlert, HttpStatus.CREATED);
+        HttpStatus status = response.getRejected() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return new ResponseEntity<>(response, status);
     }
 
     // GET: Drill-down into a specific alert
@@ -47,18 +95,43 @@ public class AlertController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<Alert>> getAllAlerts(
+    public ResponseEntity<Page<AlertSummaryDTO>> getAllAlerts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "timestamp") String sortBy) {
 
-
+        if (!SORTABLE_FIELDS.contains(sortBy)) {
+            throw new IllegalArgumentException("sortBy must be one of " + SORTABLE_FIELDS);
+        }
+        if (size < 1 || size > 100) {
+            throw new IllegalArgumentException("size must be between 1 and 100");
+        }
         PageRequest pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, sortBy));
         return ResponseEntity.ok(alertService.getAllAlerts(pageRequest));
     }
 
+    // GET: Filtered keyset listing, newest first; pass nextCursor back to get the following page
+    @GetMapping("/search")
+    public ResponseEntity<AlertSliceDTO> searchAlerts(
+            AlertFilterDTO filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(alertService.searchAlerts(filter, cursor, size, includeTotal));
+    }
+
     @GetMapping("/{id}/history")
     public ResponseEntity<List<AlertHistory>> getAlertHistory(@PathVariable Long id) {
         return ResponseEntity.ok(alertService.getAlertHistory(id));
     }
+
+    // The header wins over a key in the body; both are optional
+    private static void applyIdempotencyKey(AlertRequestDTO requestDTO, String idempotencyKey) {
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            if (idempotencyKey.length() > 128) {
+                throw new IllegalArgumentException(IDEMPOTENCY_KEY_HEADER + " must be at most 128 characters");
+            }
+            requestDTO.setIdempotencyKey(idempotencyKey);
+        }
+    }
 }
\ No newline at end of file
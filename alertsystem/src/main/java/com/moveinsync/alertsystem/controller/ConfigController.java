@@ -1,25 +1,74 @@
 package com.moveinsync.alertsystem.controller;
 
 import com.moveinsync.alertsystem.engine.RuleConfig;
-import com.moveinsync.alertsystem.service.AlertService;
+import com.moveinsync.alertsystem.engine.RuleEngine;
+import com.moveinsync.alertsystem.engine.RuleSnapshot;
+import com.moveinsync.alertsystem.job.RollupBackfillJob;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin/config")
 public class ConfigController {
 
-    private final AlertService alertService;
+    static final String RULES_VERSION_HEADER = "X-Rules-Version";
+
+    private final RuleEngine ruleEngine;
+    private final RollupBackfillJob rollupBackfillJob;
 
-    public ConfigController(AlertService alertService) {
-        this.alertService = alertService;
+    public ConfigController(RuleEngine ruleEngine, RollupBackfillJob rollupBackfillJob) {
+        this.ruleEngine = ruleEngine;
+        this.rollupBackfillJob = rollupBackfillJob;
     }
 
     @GetMapping("/rules")
     public ResponseEntity<Map<String, RuleConfig>> getActiveRules() {
-        return ResponseEntity.ok(alertService.getActiveRules());
+        RuleSnapshot snapshot = ruleEngine.getSnapshot();
+        return ResponseEntity.ok()
+                .header(RULES_VERSION_HEADER, String.valueOf(snapshot.version()))
+                .body(snapshot.rules());
+    }
+
+    @GetMapping("/rules/snapshot")
+    public ResponseEntity<Map<String, Object>> getSnapshotInfo() {
+        return ResponseEntity.ok(describe(ruleEngine.getSnapshot()));
+    }
+
+    // Re-reads rules.json and swaps it in atomically; a bad file keeps the current snapshot
+    @PostMapping("/rules/reload")
+    public ResponseEntity<Map<String, Object>> reloadRules() {
+        try {
+            return ResponseEntity.ok(describe(ruleEngine.reload()));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not load rules: " + e.getMessage());
+        }
+    }
+
+    // Rebuilds the trend rollups from the alert table; defaults to all data
+    @PostMapping("/rollups/backfill")
+    public ResponseEntity<Map<String, Object>> backfillRollups(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(rollupBackfillJob.backfill(from, to));
+    }
+
+    private static Map<String, Object> describe(RuleSnapshot snapshot) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("version", snapshot.version());
+        body.put("loadedAt", snapshot.loadedAt().toString());
+        body.put("source", snapshot.source());
+        body.put("rulesCount", snapshot.rules().size());
+        body.put("boundRules", snapshot.plans().keySet());
+        return body;
     }
-}
\ No newline at end of file
+}
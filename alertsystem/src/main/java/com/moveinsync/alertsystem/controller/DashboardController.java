@@ -1,13 +1,18 @@
 package com.moveinsync.alertsystem.controller;
-import com.moveinsync.alertsystem.entity.Alert;
+import com.moveinsync.alertsystem.dto.AlertSummaryDTO;
 import com.moveinsync.alertsystem.entity.AlertHistory;
 import com.moveinsync.alertsystem.service.DashboardService;
+import com.moveinsync.alertsystem.service.DashboardStream;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -16,9 +21,17 @@ import java.util.Map;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final DashboardStream dashboardStream;
 
-    public DashboardController(DashboardService dashboardService) {
+    public DashboardController(DashboardService dashboardService, DashboardStream dashboardStream) {
         this.dashboardService = dashboardService;
+        this.dashboardStream = dashboardStream;
+    }
+
+    // Server-Sent Events: a "snapshot" frame, then coalesced "delta" frames as alerts change
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return dashboardStream.subscribe();
     }
 
     @GetMapping("/severity-counts")
@@ -27,8 +40,10 @@ public class DashboardController {
     }
 
     @GetMapping("/top-offenders")
-    public ResponseEntity<List<Map<String, Object>>> getTopOffenders() {
-        return ResponseEntity.ok(dashboardService.getTopOffenders());
+    public ResponseEntity<List<Map<String, Object>>> getTopOffenders(
+            @RequestParam(required = false) String sourceType,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(dashboardService.getTopOffenders(sourceType, limit));
     }
 
     @GetMapping("/recent-events")
@@ -36,13 +51,17 @@ public class DashboardController {
         return ResponseEntity.ok(dashboardService.getRecentEvents());
     }
 
-    @GetMapping("/trends/daily")
-    public ResponseEntity<List<Object[]>> getDailyTrends() {
-        return ResponseEntity.ok(dashboardService.getDailyTrends());
+    // from/to are inclusive ISO dates, open-ended when left out (hourly: last 2 days); /trends/daily is kept for existing clients
+    @GetMapping({ "/trends", "/trends/daily" })
+    public ResponseEntity<List<Object[]>> getTrends(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "daily") String granularity) {
+        return ResponseEntity.ok(dashboardService.getTrends(from, to, granularity));
     }
 
     @GetMapping("/recent-autoclosed")
-    public ResponseEntity<List<Alert>> getRecentAutoClosed(@RequestParam(defaultValue = "24h") String filter) {
+    public ResponseEntity<List<AlertSummaryDTO>> getRecentAutoClosed(@RequestParam(defaultValue = "24h") String filter) {
         return ResponseEntity.ok(dashboardService.getRecentAutoClosed(filter));
     }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.moveinsync.alertsystem.dto;
+
+import com.moveinsync.alertsystem.entity.AlertStatus;
+import com.moveinsync.alertsystem.entity.Severity;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Optional filters for the alert listing, bound from query parameters.
+ * {@code status} and {@code severity} may repeat; {@code from} is inclusive, {@code to} exclusive.
+ */
+@Data
+public class AlertFilterDTO {
+
+    private List<AlertStatus> status;
+    private List<Severity> severity;
+    private String sourceType;
+    private String driverId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+}
@@ -0,0 +1,32 @@
+package com.moveinsync.alertsystem.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Alert metadata parsed once at ingest, with the fields the rules and ingest path
+ * use pulled out as typed values. Everything else stays reachable through
+ * {@code json}. Not persisted: alerts re-read from the database carry only the
+ * stored string.
+ */
+public record AlertMetadata(JsonNode json, String driverId, Double speedKmph, String documentStatus,
+        boolean hasEventTime) {
+
+    public static AlertMetadata of(JsonNode json) {
+        return new AlertMetadata(json,
+                // Accepts both spellings seen from gateways
+                text(json, "driverId", "driverID"),
+                json.path("speed_kmph").isNumber() ? json.path("speed_kmph").asDouble() : null,
+                text(json, "status"),
+                json.has("eventTime") || json.has("timestamp"));
+    }
+
+    private static String text(JsonNode json, String... fields) {
+        for (String field : fields) {
+            JsonNode value = json.get(field);
+            if (value != null && !value.isNull()) {
+                return value.asText();
+            }
+        }
+        return null;
+    }
+}
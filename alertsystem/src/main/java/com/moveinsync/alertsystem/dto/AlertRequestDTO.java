@@ -1,7 +1,8 @@
 package com.moveinsync.alertsystem.dto;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 @Data
@@ -13,12 +14,11 @@ public class AlertRequestDTO {
     @NotBlank(message = "metadata cannot be empty")
     private String metadata;
 
-    public boolean isMetadataValidJson() {
-        try {
-            new ObjectMapper().readTree(this.metadata);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
-    }
+    // Optional; the Idempotency-Key header fills it. Without one, the metadata content is the key
+    @Size(max = 128, message = "idempotencyKey must be at most 128 characters")
+    private String idempotencyKey;
+
+    // Set by MetadataParser on first use so the JSON is parsed once per request
+    @JsonIgnore
+    private AlertMetadata parsedMetadata;
 }
@@ -0,0 +1,19 @@
+package com.moveinsync.alertsystem.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of a cursor listing. {@code nextCursor} is null on the last page;
+ * {@code totalElements} is only filled in when the caller asked for it.
+ */
+@Data
+public class AlertSliceDTO {
+
+    private List<AlertSummaryDTO> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+    private Long totalElements;
+}
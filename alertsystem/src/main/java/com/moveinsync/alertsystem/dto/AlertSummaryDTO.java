@@ -0,0 +1,25 @@
+package com.moveinsync.alertsystem.dto;
+
+import com.moveinsync.alertsystem.entity.AlertStatus;
+import com.moveinsync.alertsystem.entity.Severity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * List view of an alert: everything except the metadata TEXT column, which is only
+ * loaded by {@code GET /api/alerts/{id}}. Selected directly by the list queries, so
+ * the column never leaves MySQL for a list.
+ */
+@Data
+@AllArgsConstructor
+public class AlertSummaryDTO {
+
+    private Long alertId;
+    private String sourceType;
+    private String driverId;
+    private Severity severity;
+    private AlertStatus status;
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,39 @@
+package com.moveinsync.alertsystem.dto;
+
+import com.moveinsync.alertsystem.entity.AlertStatus;
+import com.moveinsync.alertsystem.entity.Severity;
+import lombok.Data;
+
+/**
+ * Outcome of a single item in a batch ingest request.
+ * {@code index} is the item's position in the submitted array.
+ */
+@Data
+public class BatchAlertResultDTO {
+
+    private int index;
+    private boolean accepted;
+    // Repeat of an alert already stored as alertId; nothing new was written
+    private boolean duplicate;
+    private Long alertId;
+    private Severity severity;
+    private AlertStatus status;
+    private String error;
+
+    public static BatchAlertResultDTO rejected(int index, String error) {
+        BatchAlertResultDTO result = new BatchAlertResultDTO();
+        result.setIndex(index);
+        result.setAccepted(false);
+        result.setError(error);
+        return result;
+    }
+
+    public static BatchAlertResultDTO duplicate(int index, Long existingAlertId) {
+        BatchAlertResultDTO result = new BatchAlertResultDTO();
+        result.setIndex(index);
+        result.setAccepted(true);
+        result.setDuplicate(true);
+        result.setAlertId(existingAlertId);
+        return result;
+    }
+}
@@ -0,0 +1,14 @@
+package com.moveinsync.alertsystem.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchIngestResponseDTO {
+
+    private int accepted;
+    private int duplicates;
+    private int rejected;
+    private List<BatchAlertResultDTO> results;
+}
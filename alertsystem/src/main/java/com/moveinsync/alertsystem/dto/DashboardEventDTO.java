@@ -0,0 +1,50 @@
+package com.moveinsync.alertsystem.dto;
+
+import com.moveinsync.alertsystem.entity.Alert;
+import com.moveinsync.alertsystem.entity.AlertStatus;
+import com.moveinsync.alertsystem.entity.Severity;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change pushed on the dashboard stream. {@code type} is {@code "created"} for a
+ * newly ingested alert or {@code "transition"} for a status change of an existing one.
+ */
+@Data
+public class DashboardEventDTO {
+
+    private String type;
+    private Long alertId;
+    private String sourceType;
+    private String driverId;
+    private Severity severity;
+    private AlertStatus previousStatus;
+    private AlertStatus status;
+    private LocalDateTime at;
+
+    public static DashboardEventDTO created(Alert alert) {
+        return of("created", alert.getAlertId(), alert.getSourceType(), alert.getDriverId(),
+                alert.getSeverity(), alert.getStatus());
+    }
+
+    public static DashboardEventDTO transition(Long alertId, String sourceType, String driverId, Severity severity,
+            AlertStatus previousStatus, AlertStatus status) {
+        DashboardEventDTO event = of("transition", alertId, sourceType, driverId, severity, status);
+        event.setPreviousStatus(previousStatus);
+        return event;
+    }
+
+    private static DashboardEventDTO of(String type, Long alertId, String sourceType, String driverId,
+            Severity severity, AlertStatus status) {
+        DashboardEventDTO event = new DashboardEventDTO();
+        event.setType(type);
+        event.setAlertId(alertId);
+        event.setSourceType(sourceType);
+        event.setDriverId(driverId);
+        event.setSeverity(severity);
+        event.setStatus(status);
+        event.setAt(LocalDateTime.now());
+        return event;
+    }
+}
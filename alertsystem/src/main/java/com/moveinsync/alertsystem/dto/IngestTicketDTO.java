@@ -0,0 +1,60 @@
+package com.moveinsync.alertsystem.dto;
+
+import com.moveinsync.alertsystem.entity.AlertStatus;
+import com.moveinsync.alertsystem.entity.Severity;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tracking record for an alert submitted to {@code POST /api/alerts/async}.
+ * {@code alertId}, {@code severity} and {@code status} are set once it is PERSISTED;
+ * a DUPLICATE carries the {@code alertId} of the copy already stored, and
+ * {@code error} is set once it is REJECTED or FAILED.
+ */
+@Data
+public class IngestTicketDTO {
+
+    public enum State { QUEUED, PERSISTED, DUPLICATE, REJECTED, FAILED }
+
+    private String trackingId;
+    private State state;
+    private LocalDateTime acceptedAt;
+    private Long alertId;
+    private Severity severity;
+    private AlertStatus status;
+    private String error;
+
+    public static IngestTicketDTO queued(String trackingId) {
+        IngestTicketDTO ticket = new IngestTicketDTO();
+        ticket.setTrackingId(trackingId);
+        ticket.setState(State.QUEUED);
+        ticket.setAcceptedAt(LocalDateTime.now());
+        return ticket;
+    }
+
+    // Copy in a final state; tickets are replaced rather than mutated once published
+    public IngestTicketDTO complete(BatchAlertResultDTO result) {
+        IngestTicketDTO done = copy(result.isDuplicate() ? State.DUPLICATE
+                : result.isAccepted() ? State.PERSISTED : State.REJECTED);
+        done.setAlertId(result.getAlertId());
+        done.setSeverity(result.getSeverity());
+        done.setStatus(result.getStatus());
+        done.setError(result.getError());
+        return done;
+    }
+
+    public IngestTicketDTO failed(String error) {
+        IngestTicketDTO done = copy(State.FAILED);
+        done.setError(error);
+        return done;
+    }
+
+    private IngestTicketDTO copy(State newState) {
+        IngestTicketDTO done = new IngestTicketDTO();
+        done.setTrackingId(trackingId);
+        done.setState(newState);
+        done.setAcceptedAt(acceptedAt);
+        return done;
+    }
+}
@@ -9,4 +9,12 @@ public interface AlertRuleEvaluator {
 
     // Contains the actual logic to check thresholds and escalate
     void evaluate(Alert currentAlert, RuleConfig config);
-}
\ No newline at end of file
+
+    // Called once for every newly ingested alert, before evaluate, so windowed rules can count it
+    default void record(Alert newAlert, RuleConfig config) {
+    }
+
+    // Rebuilds any in-memory window state from the database; called when rules are loaded
+    default void warmUp(RuleConfig config) {
+    }
+}
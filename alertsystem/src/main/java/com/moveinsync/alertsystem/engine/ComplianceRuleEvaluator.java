@@ -1,5 +1,6 @@
 package com.moveinsync.alertsystem.engine;
 
+import com.moveinsync.alertsystem.dto.AlertMetadata;
 import com.moveinsync.alertsystem.entity.Alert;
 import com.moveinsync.alertsystem.entity.AlertStatus;
 import org.springframework.stereotype.Component;
@@ -14,7 +15,13 @@ public class ComplianceRuleEvaluator implements AlertRuleEvaluator {
     @Override
     public void evaluate(Alert currentAlert, RuleConfig config) {
         String condition = config.getAuto_close_if();
-        if (condition != null && currentAlert.getMetadata().contains(condition)) {
+        if (condition == null) {
+            return;
+        }
+        // Typed status from ingest first; the raw text also covers flag-style keys and reloaded alerts
+        AlertMetadata metadata = currentAlert.getParsedMetadata();
+        if ((metadata != null && condition.equals(metadata.documentStatus()))
+                || currentAlert.getMetadata().contains(condition)) {
             currentAlert.setStatus(AlertStatus.AUTO_CLOSED);
         }
     }
@@ -6,7 +6,6 @@ import com.moveinsync.alertsystem.entity.Severity;
 import com.moveinsync.alertsystem.repository.AlertRepository;
 import org.springframework.stereotype.Component;
 import java.time.LocalDateTime;
-import java.util.List;
 
 /**
  * Requirement #4: Feedback Module Rule Logic.
@@ -15,9 +14,11 @@ import java.util.List;
 @Component
 public class FeedbackRuleEvaluator implements AlertRuleEvaluator {
     private final AlertRepository alertRepository;
+    private final ViolationWindowStore windowStore;
 
-    public FeedbackRuleEvaluator(AlertRepository alertRepository) {
+    public FeedbackRuleEvaluator(AlertRepository alertRepository, ViolationWindowStore windowStore) {
         this.alertRepository = alertRepository;
+        this.windowStore = windowStore;
     }
 
     @Override
@@ -25,15 +26,35 @@ public class FeedbackRuleEvaluator implements AlertRuleEvaluator {
         return "feedback_negative".equalsIgnoreCase(sourceType);
     }
 
+    @Override
+    public void record(Alert newAlert, RuleConfig config) {
+        if (windowStore.isEnabled()) {
+            windowStore.record(ViolationWindowStore.key(newAlert.getSourceType()), newAlert.getTimestamp(),
+                    config.getEscalate_if_count(), config.getWindow_mins());
+        }
+    }
+
+    @Override
+    public void warmUp(RuleConfig config) {
+        if (!windowStore.isEnabled()) {
+            return;
+        }
+        LocalDateTime timeLimit = LocalDateTime.now().minusMinutes(config.getWindow_mins());
+        String key = ViolationWindowStore.key("feedback_negative");
+        for (LocalDateTime timestamp : alertRepository.findTimestampsBySourceTypeAfter("feedback_negative", timeLimit)) {
+            windowStore.warm(key, timestamp, config.getEscalate_if_count(), config.getWindow_mins());
+        }
+    }
+
     @Override
     public void evaluate(Alert currentAlert, RuleConfig config) {
         LocalDateTime timeLimit = LocalDateTime.now().minusMinutes(config.getWindow_mins());
 
-        List<Alert> history = alertRepository.findBySourceTypeAndTimestampAfter(
-                currentAlert.getSourceType(), timeLimit
-        );
+        long count = windowStore.isEnabled()
+                ? windowStore.countAfter(ViolationWindowStore.key(currentAlert.getSourceType()), timeLimit)
+                : alertRepository.countBySourceTypeAndTimestampAfter(currentAlert.getSourceType(), timeLimit);
 
-        if (history.size() >= config.getEscalate_if_count()) {
+        if (count >= config.getEscalate_if_count()) {
             currentAlert.setStatus(AlertStatus.ESCALATED);
             currentAlert.setSeverity(Severity.CRITICAL);
         } else {
@@ -41,4 +62,4 @@ public class FeedbackRuleEvaluator implements AlertRuleEvaluator {
             currentAlert.setSeverity(Severity.WARNING);
         }
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,5 @@
 package com.moveinsync.alertsystem.engine;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.moveinsync.alertsystem.entity.Alert;
 import com.moveinsync.alertsystem.entity.AlertStatus;
 import com.moveinsync.alertsystem.entity.Severity;
@@ -10,7 +9,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 
 @Component
@@ -18,36 +16,56 @@ public class OverspeedRuleEvaluator implements AlertRuleEvaluator {
 
     private static final Logger log = LoggerFactory.getLogger(OverspeedRuleEvaluator.class);
 
+    private static final String SOURCE_TYPE = "overspeed";
+
     private final AlertRepository alertRepository;
-    private final ObjectMapper objectMapper;
+    private final ViolationWindowStore windowStore;
 
-    public OverspeedRuleEvaluator(AlertRepository alertRepository, ObjectMapper objectMapper) {
+    public OverspeedRuleEvaluator(AlertRepository alertRepository, ViolationWindowStore windowStore) {
         this.alertRepository = alertRepository;
-        this.objectMapper = objectMapper;
+        this.windowStore = windowStore;
     }
 
     @Override
     public boolean supports(String sourceType) {
-        return "overspeed".equalsIgnoreCase(sourceType);
+        return SOURCE_TYPE.equalsIgnoreCase(sourceType);
+    }
+
+    @Override
+    public void record(Alert newAlert, RuleConfig config) {
+        String driverId = newAlert.getDriverId();
+        if (driverId != null && windowStore.isEnabled()) {
+            windowStore.record(ViolationWindowStore.key(SOURCE_TYPE, driverId), newAlert.getTimestamp(),
+                    config.getEscalate_if_count(), config.getWindow_mins());
+        }
+    }
+
+    @Override
+    public void warmUp(RuleConfig config) {
+        if (!windowStore.isEnabled()) {
+            return;
+        }
+        LocalDateTime windowStart = LocalDateTime.now().minusMinutes(config.getWindow_mins());
+        for (Object[] row : alertRepository.findDriverTimestampsBySourceTypeAfter(SOURCE_TYPE, windowStart)) {
+            windowStore.warm(ViolationWindowStore.key(SOURCE_TYPE, (String) row[0]), (LocalDateTime) row[1],
+                    config.getEscalate_if_count(), config.getWindow_mins());
+        }
     }
 
     @Override
     public void evaluate(Alert currentAlert, RuleConfig config) {
-        String driverId;
-        try {
-            driverId = objectMapper.readTree(currentAlert.getMetadata()).get("driverId").asText();
-        } catch (Exception e) {
-            log.warn("Overspeed rule: could not extract driverId from metadata for alert #{}",
+        String driverId = currentAlert.getDriverId();
+        if (driverId == null) {
+            log.warn("Overspeed rule: no driverId in metadata for alert #{}",
                     currentAlert.getAlertId());
             return;
         }
 
         LocalDateTime windowStart = LocalDateTime.now().minusMinutes(config.getWindow_mins());
 
-        List<Alert> recentViolations = alertRepository
-                .findBySourceTypeAndDriverIdAndTimestampAfter("overspeed", driverId, windowStart);
-
-        long count = recentViolations.size();
+        long count = windowStore.isEnabled()
+                ? windowStore.countAfter(ViolationWindowStore.key(SOURCE_TYPE, driverId), windowStart)
+                : alertRepository.countBySourceTypeAndDriverIdAndTimestampAfter(SOURCE_TYPE, driverId, windowStart);
         log.debug("Driver {} has {} overspeed violation(s) in the last {} mins",
                 driverId, count, config.getWindow_mins());
 
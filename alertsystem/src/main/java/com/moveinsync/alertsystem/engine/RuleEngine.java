@@ -0,0 +1,190 @@
+package com.moveinsync.alertsystem.engine;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads rules.json, compiles it into a {@link RuleSnapshot} and swaps it in atomically.
+ *
+ * Compilation resolves the evaluator for every sourceType and rejects incomplete
+ * thresholds, so a bad file leaves the previous snapshot active. Reloads come from
+ * {@code POST /api/admin/config/rules/reload} or, with {@code alert.rules.watch.enabled},
+ * from polling the file's modification time. Ingest reads the volatile snapshot without
+ * locking and is never paused by a reload.
+ *
+ * The evaluators' in-memory windows only hold what the active rules need. Before a
+ * snapshot is published, every plan that is new, changed evaluator, or raised its
+ * escalate_if_count or window_mins is warmed from the database, so the windows agree
+ * with the windowed queries from the moment the new rules apply.
+ */
+@Component
+@DependsOn("driverIdBackfillJob") // warm-up reads the driverId column
+public class RuleEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(RuleEngine.class);
+
+    // Strict on purpose: an unknown key in rules.json is a typo, not something to ignore
+    private static final ObjectMapper RULES_MAPPER = new ObjectMapper();
+
+    private final List<AlertRuleEvaluator> evaluators;
+    private final Resource rulesResource;
+
+    @Value("${alert.rules.watch.enabled:false}")
+    private boolean watchEnabled;
+
+    private volatile RuleSnapshot snapshot;
+    private long lastModified;
+
+    public RuleEngine(List<AlertRuleEvaluator> evaluators,
+            ResourceLoader resourceLoader,
+            @Value("${alert.rules.location:classpath:rules.json}") String rulesLocation) {
+        this.evaluators = evaluators;
+        this.rulesResource = resourceLoader.getResource(rulesLocation);
+    }
+
+    // The first load seeds the evaluators' in-memory windows from alerts already in the table
+    @PostConstruct
+    public void loadRules() throws IOException {
+        reload();
+    }
+
+    public RuleSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public RulePlan planFor(String sourceType) {
+        return snapshot.planFor(sourceType);
+    }
+
+    /**
+     * Re-reads and compiles the rules file. On any error the active snapshot is kept
+     * and the exception is rethrown.
+     */
+    public synchronized RuleSnapshot reload() throws IOException {
+        long modified = lastModifiedOf(rulesResource);
+        Map<String, RuleConfig> parsed;
+        try (InputStream in = rulesResource.getInputStream()) {
+            parsed = RULES_MAPPER.readValue(in, new TypeReference<>() {
+            });
+        }
+
+        long version = snapshot == null ? 1 : snapshot.version() + 1;
+        RuleSnapshot compiled = compile(parsed, version);
+        warmUp(compiled, snapshot);
+        snapshot = compiled;
+        lastModified = modified;
+
+        log.info("Successfully loaded {} alert rules from {} (snapshot v{})",
+                compiled.rules().size(), compiled.source(), compiled.version());
+        return compiled;
+    }
+
+    @Scheduled(fixedDelayString = "${alert.rules.watch.interval-ms:5000}")
+    public void reloadIfChanged() {
+        if (!watchEnabled) {
+            return;
+        }
+        long modified = lastModifiedOf(rulesResource);
+        if (modified <= 0 || modified == lastModified) {
+            return;
+        }
+        try {
+            reload();
+        } catch (Exception e) {
+            // Keep serving the previous snapshot; the next edit will be picked up again
+            lastModified = modified;
+            log.error("Rules file changed but could not be loaded, keeping snapshot v{}: {}",
+                    snapshot.version(), e.getMessage());
+        }
+    }
+
+    private static void warmUp(RuleSnapshot next, RuleSnapshot previous) {
+        next.plans().forEach((sourceType, plan) -> {
+            RulePlan before = previous == null ? null : previous.planFor(sourceType);
+            if (before == null || before.evaluator() != plan.evaluator()
+                    || grew(before.config().getEscalate_if_count(), plan.config().getEscalate_if_count())
+                    || grew(before.config().getWindow_mins(), plan.config().getWindow_mins())) {
+                plan.evaluator().warmUp(plan.config());
+            }
+        });
+    }
+
+    private static boolean grew(Integer before, Integer after) {
+        return after != null && (before == null || after > before);
+    }
+
+    private RuleSnapshot compile(Map<String, RuleConfig> parsed, long version) {
+        Map<String, RuleConfig> rules = new LinkedHashMap<>();
+        Map<String, RulePlan> plans = new LinkedHashMap<>();
+
+        parsed.forEach((name, source) -> {
+            if (source == null) {
+                throw new IllegalArgumentException("Rule '" + name + "' has no configuration");
+            }
+            String typeKey = name.toLowerCase();
+            RuleConfig config = copyOf(source);
+            validate(typeKey, config);
+            rules.put(typeKey, config);
+
+            AlertRuleEvaluator evaluator = evaluators.stream()
+                    .filter(e -> e.supports(typeKey))
+                    .findFirst()
+                    .orElse(null);
+            if (evaluator == null) {
+                log.warn("Rule '{}' has no matching evaluator and will be ignored", typeKey);
+                return;
+            }
+            plans.put(typeKey, new RulePlan(typeKey, evaluator, config));
+        });
+
+        return new RuleSnapshot(version, LocalDateTime.now(), rulesResource.getDescription(),
+                Collections.unmodifiableMap(rules), Collections.unmodifiableMap(plans));
+    }
+
+    private static void validate(String typeKey, RuleConfig config) {
+        boolean hasCount = config.getEscalate_if_count() != null;
+        boolean hasWindow = config.getWindow_mins() != null;
+        if (hasCount != hasWindow) {
+            throw new IllegalArgumentException(
+                    "Rule '" + typeKey + "' must set both escalate_if_count and window_mins");
+        }
+        if (hasCount && (config.getEscalate_if_count() < 1 || config.getWindow_mins() < 1)) {
+            throw new IllegalArgumentException(
+                    "Rule '" + typeKey + "' needs a positive escalate_if_count and window_mins");
+        }
+    }
+
+    // Snapshots own their configs, so nobody holding the parsed map can change a live rule
+    private static RuleConfig copyOf(RuleConfig source) {
+        RuleConfig copy = new RuleConfig();
+        copy.setEscalate_if_count(source.getEscalate_if_count());
+        copy.setWindow_mins(source.getWindow_mins());
+        copy.setAuto_close_if(source.getAuto_close_if());
+        return copy;
+    }
+
+    private static long lastModifiedOf(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return 0; // e.g. classpath resource inside a jar: not watchable
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.moveinsync.alertsystem.engine;
+
+import com.moveinsync.alertsystem.entity.Alert;
+
+/**
+ * A rule from rules.json bound to the evaluator that handles its sourceType.
+ * Built once per snapshot, so ingest never searches the evaluator list.
+ */
+public record RulePlan(String sourceType, AlertRuleEvaluator evaluator, RuleConfig config) {
+
+    public void record(Alert newAlert) {
+        evaluator.record(newAlert, config);
+    }
+
+    public void evaluate(Alert alert) {
+        evaluator.evaluate(alert, config);
+    }
+}
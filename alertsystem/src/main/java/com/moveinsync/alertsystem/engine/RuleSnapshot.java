@@ -0,0 +1,21 @@
+package com.moveinsync.alertsystem.engine;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Immutable, versioned view of the active rules. Readers grab one snapshot and use it
+ * for a whole operation, so a concurrent reload never mixes old and new rules.
+ *
+ * @param rules the rules as loaded, keyed by lowercase sourceType
+ * @param plans rules that have an evaluator, keyed by lowercase sourceType
+ */
+public record RuleSnapshot(long version, LocalDateTime loadedAt, String source,
+        Map<String, RuleConfig> rules, Map<String, RulePlan> plans) {
+
+    public RulePlan planFor(String sourceType) {
+        RulePlan plan = plans.get(sourceType);
+        // Ingested types are almost always lowercase already; only fold case on a miss
+        return plan != null ? plan : plans.get(sourceType.toLowerCase());
+    }
+}
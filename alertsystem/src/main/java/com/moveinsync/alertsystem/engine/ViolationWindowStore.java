@@ -0,0 +1,194 @@
+package com.moveinsync.alertsystem.engine;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory replacement for the windowed "how many alerts since X" queries used by
+ * the escalation rules.
+ *
+ * Each key (sourceType, or sourceType + driver) keeps a small ring of its most
+ * recent event times. Rules only ask whether {@code escalate_if_count} events fall
+ * inside the window, so keeping the newest {@code escalate_if_count} timestamps is
+ * enough to answer exactly what {@code timestamp > :timeLimit} would, in O(threshold)
+ * with no DB round trip. Timestamps are kept at microsecond precision to match the
+ * {@code datetime(6)} column.
+ *
+ * Events are recorded inside the ingest transaction and forgotten again if it rolls back.
+ * The store only sees alerts ingested by this instance, so it is only correct when a
+ * single instance ingests: with several replicas each would count its own share of a
+ * driver's alerts and escalate late or never. It is therefore off by default
+ * ({@code alert.rules.window-store.enabled}), and the rules count from the database.
+ */
+@Component
+public class ViolationWindowStore {
+
+    // Idle keys are swept after this many records instead of on a scheduler
+    private static final int SWEEP_EVERY = 4096;
+
+    private final boolean enabled;
+    private final Map<String, EventRing> rings = new ConcurrentHashMap<>();
+    private final AtomicLong recordCount = new AtomicLong();
+
+    public ViolationWindowStore(@Value("${alert.rules.window-store.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public static String key(String sourceType) {
+        return sourceType.toLowerCase();
+    }
+
+    public static String key(String sourceType, String driverId) {
+        return sourceType.toLowerCase() + '|' + driverId;
+    }
+
+    /**
+     * Records one event. {@code capacity} is the rule's escalation threshold and
+     * {@code windowMins} how long the key stays interesting after its last event.
+     */
+    public void record(String key, LocalDateTime timestamp, int capacity, int windowMins) {
+        long micros = toMicros(timestamp);
+        add(key, micros, capacity, windowMins, false);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        forget(key, micros);
+                    }
+                }
+            });
+        }
+
+        if (recordCount.incrementAndGet() % SWEEP_EVERY == 0) {
+            sweep(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Records an event loaded from the database at warm-up. An event the key already
+     * holds (same microsecond) is skipped, so a key can be warmed again after a reload
+     * without counting the alerts it has already seen twice.
+     */
+    public void warm(String key, LocalDateTime timestamp, int capacity, int windowMins) {
+        add(key, toMicros(timestamp), capacity, windowMins, true);
+    }
+
+    private void add(String key, long micros, int capacity, int windowMins, boolean skipHeld) {
+        // compute() keeps the add atomic with respect to sweep() removing the same key
+        rings.compute(key, (k, ring) -> {
+            EventRing target = ring != null ? ring : new EventRing();
+            target.add(micros, capacity, windowMins, skipHeld);
+            return target;
+        });
+    }
+
+    /**
+     * Number of retained events for the key strictly after {@code after}. Exact up to
+     * the key's capacity, which is all a threshold comparison needs.
+     */
+    public int countAfter(String key, LocalDateTime after) {
+        EventRing ring = rings.get(key);
+        return ring == null ? 0 : ring.countAfter(toMicros(after));
+    }
+
+    public void clear() {
+        rings.clear();
+    }
+
+    public int size() {
+        return rings.size();
+    }
+
+    // Drops keys whose newest event has left their window
+    void sweep(LocalDateTime now) {
+        long nowMicros = toMicros(now);
+        for (String key : rings.keySet()) {
+            rings.computeIfPresent(key, (k, ring) -> ring.isIdle(nowMicros) ? null : ring);
+        }
+    }
+
+    private void forget(String key, long micros) {
+        EventRing ring = rings.get(key);
+        if (ring != null) {
+            ring.remove(micros);
+        }
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    /**
+     * Newest-first bounded list of event times. Small (threshold-sized), so linear
+     * inserts beat anything cleverer. Capacity and window only ever grow: a record made
+     * under the previous rules while a reload warms up must not shrink what it loaded.
+     */
+    private static final class EventRing {
+
+        private long[] times = new long[0];
+        private int size;
+        private long windowMicros;
+
+        synchronized void add(long micros, int capacity, int windowMins, boolean skipHeld) {
+            windowMicros = Math.max(windowMicros, windowMins * 60_000_000L);
+            if (times.length < Math.max(capacity, 1)) {
+                times = Arrays.copyOf(times, Math.max(capacity, 1));
+            }
+            capacity = times.length;
+            int pos = 0;
+            while (pos < size && times[pos] > micros) {
+                pos++;
+            }
+            if (skipHeld && pos < size && times[pos] == micros) {
+                return;
+            }
+            while (pos < size && times[pos] == micros) {
+                pos++;
+            }
+            if (pos >= capacity) {
+                return; // older than everything we need to keep
+            }
+            int moved = Math.min(size, capacity - 1) - pos;
+            System.arraycopy(times, pos, times, pos + 1, moved);
+            times[pos] = micros;
+            size = Math.min(size + 1, capacity);
+        }
+
+        synchronized int countAfter(long afterMicros) {
+            int count = 0;
+            while (count < size && times[count] > afterMicros) {
+                count++;
+            }
+            return count;
+        }
+
+        synchronized void remove(long micros) {
+            for (int i = 0; i < size; i++) {
+                if (times[i] == micros) {
+                    System.arraycopy(times, i + 1, times, i, size - i - 1);
+                    size--;
+                    return;
+                }
+            }
+        }
+
+        synchronized boolean isIdle(long nowMicros) {
+            return size == 0 || times[0] <= nowMicros - windowMicros;
+        }
+    }
+}
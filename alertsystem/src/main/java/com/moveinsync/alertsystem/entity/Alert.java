@@ -1,5 +1,7 @@
 package com.moveinsync.alertsystem.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.moveinsync.alertsystem.dto.AlertMetadata;
 import jakarta.persistence.*;
 import lombok.Data;
 import java.time.LocalDateTime;
@@ -9,19 +11,35 @@ import java.time.LocalDateTime;
 @Data
 @Table(name = "alert", indexes = {
         @Index(name = "idx_source_timestamp", columnList = "sourceType, timestamp"),
-        @Index(name = "idx_status", columnList = "status")
+        @Index(name = "idx_source_driver_timestamp", columnList = "sourceType, driverId, timestamp"),
+        @Index(name = "idx_status_timestamp", columnList = "status, timestamp"),
+        @Index(name = "idx_status_driver", columnList = "status, driverId"),
+        @Index(name = "idx_timestamp", columnList = "timestamp"),
+        @Index(name = "idx_severity_timestamp", columnList = "severity, timestamp"),
+        @Index(name = "idx_driver_timestamp", columnList = "driverId, timestamp"),
+        @Index(name = "uk_alert_fingerprint", columnList = "fingerprint", unique = true)
 })
 public class Alert {
 
+    public static final int MAX_DRIVER_ID_LENGTH = 64;
+
+    // Pooled sequence ids let Hibernate batch INSERTs; IDENTITY forces one round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "alert_seq")
+    @SequenceGenerator(name = "alert_seq", sequenceName = "alert_seq", allocationSize = 50)
     private Long alertId;
 
     private String sourceType;
 
+    // Extracted from metadata.driverId / metadata.driverID once at ingest; longer ids are rejected there
+    @Column(length = MAX_DRIVER_ID_LENGTH)
+    private String driverId;
+
     @Enumerated(EnumType.STRING)
     private Severity severity;
 
+    // Partition key in the partitioned schema (see PartitionMaintenanceJob), so it is never rewritten
+    @Column(nullable = false, updatable = false)
     private LocalDateTime timestamp;
 
     @Enumerated(EnumType.STRING)
@@ -29,4 +47,14 @@ public class Alert {
 
     @Column(columnDefinition = "TEXT")
     private String metadata;
+
+    // Parsed once at ingest and handed to the rule evaluators; null for alerts loaded from the database
+    @Transient
+    @JsonIgnore
+    private AlertMetadata parsedMetadata;
+
+    // Ingest de-duplication key (see AlertFingerprints); null when de-duplication is off
+    @JsonIgnore
+    @Column(length = 64)
+    private String fingerprint;
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.moveinsync.alertsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+// Closed alerts moved out of the live table by AlertArchiveJob; same columns as Alert plus archivedAt
+@Entity
+@Data
+@Table(name = "alert_archive", indexes = @Index(name = "idx_archive_timestamp", columnList = "timestamp"))
+public class AlertArchive {
+
+    // Keeps the live alert's id, so lookups by id work unchanged
+    @Id
+    private Long alertId;
+
+    private String sourceType;
+
+    @Column(length = 64)
+    private String driverId;
+
+    @Enumerated(EnumType.STRING)
+    private Severity severity;
+
+    private LocalDateTime timestamp;
+
+    @Enumerated(EnumType.STRING)
+    private AlertStatus status;
+
+    @Column(columnDefinition = "TEXT")
+    private String metadata;
+
+    @Column(length = 64)
+    private String fingerprint;
+
+    private LocalDateTime archivedAt;
+
+    public Alert toAlert() {
+        Alert alert = new Alert();
+        alert.setAlertId(alertId);
+        alert.setSourceType(sourceType);
+        alert.setDriverId(driverId);
+        alert.setSeverity(severity);
+        alert.setTimestamp(timestamp);
+        alert.setStatus(status);
+        alert.setMetadata(metadata);
+        alert.setFingerprint(fingerprint);
+        return alert;
+    }
+}
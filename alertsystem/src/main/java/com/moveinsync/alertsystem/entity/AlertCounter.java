@@ -0,0 +1,16 @@
+package com.moveinsync.alertsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+// Materialised COUNT(*) of alerts per (severity, status, sourceType); see AlertCounterService
+@Entity
+@Data
+@Table(name = "alert_counter")
+public class AlertCounter {
+
+    @EmbeddedId
+    private AlertCounterKey id;
+
+    private long alertCount;
+}
@@ -6,9 +6,11 @@ import java.time.LocalDateTime;
 
 @Entity
 @Data
+@Table(indexes = @Index(name = "idx_history_alert_time", columnList = "alertId, transitionTime"))
 public class AlertHistory { // Ensure 'public' is here
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "alert_history_seq")
+    @SequenceGenerator(name = "alert_history_seq", sequenceName = "alert_history_seq", allocationSize = 50)
     private Long historyId;
 
     private Long alertId;
@@ -19,6 +21,8 @@ public class AlertHistory { // Ensure 'public' is here
     @Enumerated(EnumType.STRING)
     private AlertStatus newStatus;
 
+    // Partition key in the partitioned schema (see PartitionMaintenanceJob)
+    @Column(nullable = false, updatable = false)
     private LocalDateTime transitionTime;
     private String reason;
 }
\ No newline at end of file
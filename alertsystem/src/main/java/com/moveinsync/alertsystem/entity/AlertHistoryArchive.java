@@ -0,0 +1,37 @@
+package com.moveinsync.alertsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+// History rows of archived alerts; see AlertArchiveJob
+@Entity
+@Data
+@Table(name = "alert_history_archive",
+        indexes = @Index(name = "idx_history_archive_alert_time", columnList = "alertId, transitionTime"))
+public class AlertHistoryArchive {
+    @Id
+    private Long historyId;
+
+    private Long alertId;
+
+    @Enumerated(EnumType.STRING)
+    private AlertStatus previousStatus;
+
+    @Enumerated(EnumType.STRING)
+    private AlertStatus newStatus;
+
+    private LocalDateTime transitionTime;
+    private String reason;
+
+    public AlertHistory toHistory() {
+        AlertHistory history = new AlertHistory();
+        history.setHistoryId(historyId);
+        history.setAlertId(alertId);
+        history.setPreviousStatus(previousStatus);
+        history.setNewStatus(newStatus);
+        history.setTransitionTime(transitionTime);
+        history.setReason(reason);
+        return history;
+    }
+}
@@ -0,0 +1,16 @@
+package com.moveinsync.alertsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+// Alerts ingested per day x sourceType x current severity; see AlertRollupService
+@Entity
+@Data
+@Table(name = "alert_rollup_daily")
+public class AlertRollupDaily {
+
+    @EmbeddedId
+    private AlertRollupKey id;
+
+    private long alertCount;
+}
@@ -0,0 +1,16 @@
+package com.moveinsync.alertsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+// Alerts ingested per hour x sourceType x current severity; see AlertRollupService
+@Entity
+@Data
+@Table(name = "alert_rollup_hourly")
+public class AlertRollupHourly {
+
+    @EmbeddedId
+    private AlertRollupKey id;
+
+    private long alertCount;
+}
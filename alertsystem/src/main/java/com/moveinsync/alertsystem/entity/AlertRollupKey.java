@@ -0,0 +1,24 @@
+package com.moveinsync.alertsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertRollupKey implements Serializable {
+
+    // Start of the hour / day the alerts were ingested in
+    private LocalDateTime bucketStart;
+
+    private String sourceType;
+
+    @Enumerated(EnumType.STRING)
+    private Severity severity;
+}
@@ -0,0 +1,18 @@
+package com.moveinsync.alertsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+// Written to the primary by each node and read back from the read replica to measure its lag (see ReplicaLagMonitor)
+@Entity
+@Data
+@Table(name = "replica_heartbeat")
+public class ReplicaHeartbeat {
+
+    @Id
+    @Column(length = 128)
+    private String nodeId;
+
+    private LocalDateTime beat;
+}
@@ -0,0 +1,30 @@
+package com.moveinsync.alertsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+// One row per cluster-wide scheduled job: who may run it until when, and how the last run went
+@Entity
+@Data
+@Table(name = "scheduler_lease")
+public class SchedulerLease {
+
+    @Id
+    @Column(length = 64)
+    private String jobName;
+
+    @Column(length = 128)
+    private String owner;
+
+    private LocalDateTime leaseUntil;
+
+    @Column(length = 128)
+    private String lastRunOwner;
+
+    private LocalDateTime lastRunStartedAt;
+    private LocalDateTime lastRunFinishedAt;
+
+    @Column(length = 512)
+    private String lastRunSummary;
+}
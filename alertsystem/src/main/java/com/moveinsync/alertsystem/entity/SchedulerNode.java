@@ -0,0 +1,21 @@
+package com.moveinsync.alertsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+// Live replica registry; a node counts as live while its heartbeat is recent
+@Entity
+@Data
+@Table(name = "scheduler_node", indexes = {
+        @Index(name = "idx_heartbeat", columnList = "heartbeatAt")
+})
+public class SchedulerNode {
+
+    @Id
+    @Column(length = 128)
+    private String nodeId;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime heartbeatAt;
+}
@@ -0,0 +1,18 @@
+package com.moveinsync.alertsystem.exception;
+
+/**
+ * The submitted alert repeats one already stored; {@code alertId} is the original.
+ */
+public class DuplicateAlertException extends RuntimeException {
+
+    private final Long alertId;
+
+    public DuplicateAlertException(Long alertId) {
+        super("Duplicate of alert #" + alertId);
+        this.alertId = alertId;
+    }
+
+    public Long getAlertId() {
+        return alertId;
+    }
+}
@@ -0,0 +1,18 @@
+package com.moveinsync.alertsystem.exception;
+
+/**
+ * The async ingest buffer has no room; surfaced as 429 with a Retry-After header.
+ */
+public class IngestBufferFullException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public IngestBufferFullException(long retryAfterSeconds) {
+        super("Ingest buffer is full, retry in " + retryAfterSeconds + "s");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
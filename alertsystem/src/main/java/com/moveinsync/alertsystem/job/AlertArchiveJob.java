@@ -0,0 +1,185 @@
+package com.moveinsync.alertsystem.job;
+
+import com.moveinsync.alertsystem.entity.AlertStatus;
+import com.moveinsync.alertsystem.entity.Severity;
+import com.moveinsync.alertsystem.service.AlertCounterService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Hot/cold tiering: moves closed alerts out of the live tables so the indexes the
+ * ingest and dashboard paths depend on stay sized to recent traffic.
+ *
+ * RESOLVED and AUTO_CLOSED alerts closed more than {@code alert.archive.after-days} ago
+ * move, with their history rows, to {@code alert_archive} / {@code alert_history_archive}.
+ * Archived alerts closed more than {@code alert.archive.retention-days} ago are then
+ * deleted for good. The close time is the alert's latest history transition, which
+ * commits with the close itself; the ingest {@code timestamp} only narrows the scan,
+ * since no alert closes before it was ingested. Both steps work in chunks of {@code alert.archive.chunk-size} alerts, one
+ * transaction each, and run on one replica per tick under the {@value #JOB_NAME} lease.
+ *
+ * Lookups by id ({@code GET /api/alerts/{id}} and its history) fall back to the archive;
+ * listings and searches cover live alerts only. Archived alerts still count towards the
+ * severity counters and trend rollups until they are purged.
+ */
+@Component
+public class AlertArchiveJob {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertArchiveJob.class);
+
+    static final String JOB_NAME = "alertArchive";
+
+    private static final String CLOSED = "'" + AlertStatus.RESOLVED + "', '" + AlertStatus.AUTO_CLOSED + "'";
+
+    @Value("${alert.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${alert.archive.after-days:30}")
+    private int afterDays;
+
+    @Value("${alert.archive.retention-days:365}")
+    private int retentionDays;
+
+    @Value("${alert.archive.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${alert.archive.rate-ms:3600000}")
+    private long rateMs;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ClusterCoordinator clusterCoordinator;
+    private final AlertCounterService alertCounters;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter archivedCounter;
+    private final Counter purgedCounter;
+
+    public AlertArchiveJob(JdbcTemplate jdbcTemplate,
+            ClusterCoordinator clusterCoordinator,
+            AlertCounterService alertCounters,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clusterCoordinator = clusterCoordinator;
+        this.alertCounters = alertCounters;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archivedCounter = Counter.builder("alert.archive.moved")
+                .description("Closed alerts moved to alert_archive")
+                .register(meterRegistry);
+        this.purgedCounter = Counter.builder("alert.archive.purged")
+                .description("Archived alerts deleted past the retention limit")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${alert.archive.rate-ms:3600000}",
+            initialDelayString = "${alert.archive.initial-delay-ms:600000}")
+    public void archiveAndPurge() {
+        if (!enabled || !clusterCoordinator.tryAcquire(JOB_NAME, Duration.ofMillis(rateMs * 9 / 10))) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        long archived = 0;
+        long purged = 0;
+        try {
+            archived = archive(startedAt.minusDays(Math.max(afterDays, 1)));
+            // Retention is measured from the close, like after-days, and never shorter than it
+            purged = purge(startedAt.minusDays(Math.max(retentionDays, afterDays)));
+        } finally {
+            String summary = "archived " + archived + ", purged " + purged + " alerts";
+            clusterCoordinator.finish(JOB_NAME, startedAt, summary);
+            if (archived + purged > 0) {
+                log.info("AlertArchiveJob complete: {}", summary);
+            }
+        }
+    }
+
+    /** Moves alerts closed before {@code cutoff}; returns how many moved. */
+    long archive(LocalDateTime cutoff) {
+        long total = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(tx -> archiveChunk(cutoff));
+            total += moved;
+            archivedCounter.increment(moved);
+        } while (moved == chunkSize);
+        return total;
+    }
+
+    /** Deletes archived alerts closed before {@code cutoff}; returns how many were deleted. */
+    long purge(LocalDateTime cutoff) {
+        long total = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(tx -> purgeChunk(cutoff));
+            total += deleted;
+            purgedCounter.increment(deleted);
+        } while (deleted == chunkSize);
+        return total;
+    }
+
+    // Copies before deleting, all in one transaction; the row locks keep a concurrent resolve off the chunk
+    private int archiveChunk(LocalDateTime cutoff) {
+        // No transition at or after the cutoff (idx_history_alert_time), so the close itself is older
+        List<Long> ids = jdbcTemplate.queryForList("SELECT alert_id FROM alert a WHERE status IN (" + CLOSED + ") " +
+                "AND timestamp < ? AND NOT EXISTS (SELECT 1 FROM alert_history h " +
+                "WHERE h.alert_id = a.alert_id AND h.transition_time >= ?) ORDER BY alert_id LIMIT ? FOR UPDATE",
+                Long.class, Timestamp.valueOf(cutoff), Timestamp.valueOf(cutoff), chunkSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String in = placeholders(ids.size());
+        Object[] args = ids.toArray();
+        jdbcTemplate.update("INSERT INTO alert_history_archive " +
+                "(history_id, alert_id, previous_status, new_status, transition_time, reason) " +
+                "SELECT history_id, alert_id, previous_status, new_status, transition_time, reason " +
+                "FROM alert_history WHERE alert_id IN (" + in + ")", args);
+        List<Object> archiveArgs = new ArrayList<>(ids.size() + 1);
+        archiveArgs.add(Timestamp.valueOf(LocalDateTime.now()));
+        archiveArgs.addAll(ids);
+        jdbcTemplate.update("INSERT INTO alert_archive " +
+                "(archived_at, alert_id, source_type, driver_id, severity, timestamp, status, metadata, fingerprint) " +
+                "SELECT ?, alert_id, source_type, driver_id, severity, timestamp, status, metadata, fingerprint " +
+                "FROM alert WHERE alert_id IN (" + in + ")", archiveArgs.toArray());
+        jdbcTemplate.update("DELETE FROM alert_history WHERE alert_id IN (" + in + ")", args);
+        return jdbcTemplate.update("DELETE FROM alert WHERE alert_id IN (" + in + ")", args);
+    }
+
+    private int purgeChunk(LocalDateTime cutoff) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT alert_id FROM alert_archive a WHERE timestamp < ? " +
+                "AND NOT EXISTS (SELECT 1 FROM alert_history_archive h " +
+                "WHERE h.alert_id = a.alert_id AND h.transition_time >= ?) ORDER BY alert_id LIMIT ? FOR UPDATE",
+                Long.class, Timestamp.valueOf(cutoff), Timestamp.valueOf(cutoff), chunkSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String in = placeholders(ids.size());
+        Object[] args = ids.toArray();
+        // Purged alerts leave the severity counters; their trend rollups are kept
+        jdbcTemplate.query("SELECT source_type, severity, status, COUNT(*) FROM alert_archive " +
+                "WHERE alert_id IN (" + in + ") AND source_type IS NOT NULL AND severity IS NOT NULL " +
+                "AND status IS NOT NULL GROUP BY source_type, severity, status", rs -> {
+                    alertCounters.removed(rs.getString(1), Severity.valueOf(rs.getString(2)),
+                            AlertStatus.valueOf(rs.getString(3)), rs.getLong(4));
+                }, args);
+        jdbcTemplate.update("DELETE FROM alert_history_archive WHERE alert_id IN (" + in + ")", args);
+        return jdbcTemplate.update("DELETE FROM alert_archive WHERE alert_id IN (" + in + ")", args);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
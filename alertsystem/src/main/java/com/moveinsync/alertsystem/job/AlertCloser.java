@@ -0,0 +1,81 @@
+package com.moveinsync.alertsystem.job;
+
+import com.moveinsync.alertsystem.dto.DashboardEventDTO;
+import com.moveinsync.alertsystem.entity.AlertHistory;
+import com.moveinsync.alertsystem.entity.AlertStatus;
+import com.moveinsync.alertsystem.entity.Severity;
+import com.moveinsync.alertsystem.repository.AlertRepository;
+import com.moveinsync.alertsystem.service.AlertCounterService;
+import com.moveinsync.alertsystem.service.AlertHistoryWriter;
+import com.moveinsync.alertsystem.service.DashboardStream;
+import com.moveinsync.alertsystem.service.DriverLeaderboard;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Set-based auto-close shared by the TTL pass of {@link AutoCloseJob} and the
+ * {@link ExpiryScheduler}. Callers pass rows they have already locked
+ * ({@code alert_id, status, severity, source_type, driver_id}) inside their own transaction.
+ */
+@Component
+public class AlertCloser {
+
+    static final List<AlertStatus> ACTIVE = Arrays.asList(AlertStatus.OPEN, AlertStatus.ESCALATED);
+
+    private final AlertRepository alertRepository;
+    private final AlertHistoryWriter historyWriter;
+    private final AlertCounterService alertCounters;
+    private final DriverLeaderboard driverLeaderboard;
+    private final DashboardStream dashboardStream;
+
+    public AlertCloser(AlertRepository alertRepository,
+            AlertHistoryWriter historyWriter,
+            AlertCounterService alertCounters,
+            DriverLeaderboard driverLeaderboard,
+            DashboardStream dashboardStream) {
+        this.alertRepository = alertRepository;
+        this.historyWriter = historyWriter;
+        this.alertCounters = alertCounters;
+        this.driverLeaderboard = driverLeaderboard;
+        this.dashboardStream = dashboardStream;
+    }
+
+    // One UPDATE for the whole chunk; the matching history rows are inserted with it at commit
+    public int autoClose(List<Object[]> lockedRows, String reason) {
+        if (lockedRows.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = new ArrayList<>(lockedRows.size());
+        List<AlertHistory> histories = new ArrayList<>(lockedRows.size());
+        for (Object[] row : lockedRows) {
+            long alertId = ((Number) row[0]).longValue();
+            AlertStatus from = AlertStatus.valueOf(row[1].toString());
+            Severity severity = Severity.valueOf(row[2].toString());
+            ids.add(alertId);
+            histories.add(history(alertId, from, reason));
+            alertCounters.transitioned((String) row[3], severity, from, severity, AlertStatus.AUTO_CLOSED);
+            driverLeaderboard.closed((String) row[3], (String) row[4]);
+            dashboardStream.publishAfterCommit(DashboardEventDTO.transition(alertId, (String) row[3],
+                    (String) row[4], severity, from, AlertStatus.AUTO_CLOSED));
+        }
+
+        alertRepository.closeActive(ids, AlertStatus.AUTO_CLOSED, ACTIVE);
+        historyWriter.appendAll(histories);
+        return ids.size();
+    }
+
+    static AlertHistory history(Long alertId, AlertStatus from, String reason) {
+        AlertHistory history = new AlertHistory();
+        history.setAlertId(alertId);
+        history.setPreviousStatus(from);
+        history.setNewStatus(AlertStatus.AUTO_CLOSED);
+        history.setTransitionTime(LocalDateTime.now());
+        history.setReason(reason);
+        return history;
+    }
+}
@@ -1,24 +1,43 @@
 package com.moveinsync.alertsystem.job;
 
-import com.moveinsync.alertsystem.engine.AlertRuleEvaluator;
-import com.moveinsync.alertsystem.engine.RuleConfig;
+import com.moveinsync.alertsystem.dto.DashboardEventDTO;
+import com.moveinsync.alertsystem.engine.RuleEngine;
+import com.moveinsync.alertsystem.engine.RuleMetrics;
+import com.moveinsync.alertsystem.engine.RulePlan;
+import com.moveinsync.alertsystem.engine.RuleSnapshot;
 import com.moveinsync.alertsystem.entity.Alert;
 import com.moveinsync.alertsystem.entity.AlertHistory;
 import com.moveinsync.alertsystem.entity.AlertStatus;
-import com.moveinsync.alertsystem.repository.AlertHistoryRepository;
+import com.moveinsync.alertsystem.entity.Severity;
 import com.moveinsync.alertsystem.repository.AlertRepository;
-import com.moveinsync.alertsystem.service.AlertService;
+import com.moveinsync.alertsystem.service.AlertCounterService;
+import com.moveinsync.alertsystem.service.AlertHistoryWriter;
+import com.moveinsync.alertsystem.service.AlertRollupService;
+import com.moveinsync.alertsystem.service.DashboardStream;
+import com.moveinsync.alertsystem.service.DriverLeaderboard;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Background job that periodically auto-closes stale alerts.
@@ -30,6 +49,28 @@ import java.util.Map;
  * 2. Falls back to TTL check — any alert older than {@code alert.ttl.hours}
  * is auto-closed with reason "Time window expired".
  *
+ * Both passes work in chunks of {@code alert.autoclose.chunk-size} with one
+ * transaction per chunk, so neither the heap nor lock hold times grow with the
+ * number of active alerts. The rule pass walks alertId in keyset order, locking each
+ * chunk (SELECT … FOR UPDATE) so a concurrent resolve or expiry waits for it and then
+ * sees the row closed; the TTL pass closes expired alerts with a set-based UPDATE and
+ * inserts their history in the same transaction.
+ *
+ * With {@code alert.autoclose.parallel.enabled} the rule pass is split into
+ * {@code partitions} contiguous alertId ranges, cut from the MIN/MAX of the active ids
+ * and evaluated concurrently, each a primary-key range scan committing its own chunks. {@code max-connections} caps how many chunk transactions
+ * run at once, so the job can never take more than that many pooled connections away
+ * from ingestion.
+ *
+ * TTL expiry itself is driven by {@link ExpiryScheduler} as deadlines pass; the TTL
+ * pass here is the backstop for alerts it missed (e.g. while ownership was moving
+ * between replicas) and normally finds nothing on idx_status_timestamp.
+ *
+ * Replicas: by default each run takes the {@value #JOB_NAME} lease from
+ * {@link ClusterCoordinator}, so one replica runs per tick. With cluster sharding on,
+ * every replica runs but only over its {@link ClusterCoordinator.Shard#slice slice} of the
+ * active alertId range.
+ *
  * Idempotency: Only OPEN/ESCALATED alerts are considered.
  * An alert already in AUTO_CLOSED/RESOLVED is never touched.
  */
@@ -38,88 +79,267 @@ public class AutoCloseJob {
 
     private static final Logger log = LoggerFactory.getLogger(AutoCloseJob.class);
 
+    static final String JOB_NAME = "autoCloseJob";
 
     @Value("${alert.ttl.hours:24}")
     private int ttlHours;
 
+    @Value("${alert.autoclose.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${alert.scheduler.rate-ms:120000}")
+    private long rateMs;
+
+    @Value("${alert.autoclose.parallel.enabled:false}")
+    private boolean parallelEnabled;
+
+    @Value("${alert.autoclose.parallel.partitions:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int partitions;
+
     private final AlertRepository alertRepository;
-    private final AlertHistoryRepository historyRepository;
-    private final List<AlertRuleEvaluator> evaluators;
-    private final AlertService alertService;
+    private final AlertHistoryWriter historyWriter;
+    private final RuleEngine ruleEngine;
+    private final AlertCloser alertCloser;
+    private final ExpiryScheduler expiryScheduler;
+    private final ClusterCoordinator clusterCoordinator;
+    private final AlertCounterService alertCounters;
+    private final DriverLeaderboard driverLeaderboard;
+    private final AlertRollupService rollups;
+    private final DashboardStream dashboardStream;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService partitionExecutor;
+    private final Semaphore connectionPermits;
+    private final RuleMetrics ruleMetrics;
+    private final Timer runTimer;
+    private final Counter scannedCounter;
+    private final Counter ruleClosedCounter;
+    private final Counter ttlClosedCounter;
 
     public AutoCloseJob(AlertRepository alertRepository,
-            AlertHistoryRepository historyRepository,
-            List<AlertRuleEvaluator> evaluators,
-            AlertService alertService) {
+            AlertHistoryWriter historyWriter,
+            RuleEngine ruleEngine,
+            AlertCloser alertCloser,
+            ExpiryScheduler expiryScheduler,
+            ClusterCoordinator clusterCoordinator,
+            AlertCounterService alertCounters,
+            DriverLeaderboard driverLeaderboard,
+            AlertRollupService rollups,
+            DashboardStream dashboardStream,
+            PlatformTransactionManager transactionManager,
+            RuleMetrics ruleMetrics,
+            MeterRegistry meterRegistry,
+            @Value("${alert.autoclose.parallel.max-connections:4}") int maxConnections) {
         this.alertRepository = alertRepository;
-        this.historyRepository = historyRepository;
-        this.evaluators = evaluators;
-        this.alertService = alertService;
+        this.historyWriter = historyWriter;
+        this.ruleEngine = ruleEngine;
+        this.alertCloser = alertCloser;
+        this.expiryScheduler = expiryScheduler;
+        this.clusterCoordinator = clusterCoordinator;
+        this.alertCounters = alertCounters;
+        this.driverLeaderboard = driverLeaderboard;
+        this.rollups = rollups;
+        this.dashboardStream = dashboardStream;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitionExecutor = newPartitionExecutor(maxConnections);
+        this.connectionPermits = new Semaphore(maxConnections);
+        this.ruleMetrics = ruleMetrics;
+        this.runTimer = Timer.builder("alert.autoclose.run")
+                .description("Duration of one AutoCloseJob run on this node")
+                .register(meterRegistry);
+        this.scannedCounter = Counter.builder("alert.autoclose.scanned")
+                .description("Active alerts re-evaluated by the rule pass")
+                .register(meterRegistry);
+        this.ruleClosedCounter = Counter.builder("alert.autoclose.closed").tag("pass", "rule")
+                .description("Alerts auto-closed by AutoCloseJob")
+                .register(meterRegistry);
+        this.ttlClosedCounter = Counter.builder("alert.autoclose.closed").tag("pass", "ttl")
+                .description("Alerts auto-closed by AutoCloseJob")
+                .register(meterRegistry);
     }
 
+    @PreDestroy
+    public void shutdown() {
+        partitionExecutor.shutdownNow();
+    }
 
     @Scheduled(fixedRateString = "${alert.scheduler.rate-ms:120000}")
-    @Transactional
     public void scanAndCloseAlerts() {
-        log.info("AutoCloseJob: scanning active alerts (TTL = {}h) …", ttlHours);
-
-        LocalDateTime expiryThreshold = LocalDateTime.now().minusHours(ttlHours);
-        List<Alert> activeAlerts = alertRepository.findByStatusIn(
-                Arrays.asList(AlertStatus.OPEN, AlertStatus.ESCALATED));
-
-        Map<String, RuleConfig> rulesMap = alertService.getActiveRules();
-        int ruleClosedCount = 0;
-        int ttlClosedCount = 0;
-
-        for (Alert alert : activeAlerts) {
-
-            String typeKey = alert.getSourceType().toLowerCase();
-            if (rulesMap != null && rulesMap.containsKey(typeKey)) {
-                RuleConfig config = rulesMap.get(typeKey);
-
-                for (AlertRuleEvaluator evaluator : evaluators) {
-                    if (evaluator.supports(alert.getSourceType())) {
-                        AlertStatus before = alert.getStatus();
-                        evaluator.evaluate(alert, config);
-
-                        if (alert.getStatus() == AlertStatus.AUTO_CLOSED) {
-                            alertRepository.save(alert);
-                            logHistory(alert, before, AlertStatus.AUTO_CLOSED, "Rule condition satisfied by scheduler");
-                            ruleClosedCount++;
-                            break;
-                        }
-                        if (alert.getStatus() != before) {
-                            alertRepository.save(alert);
-                        }
-                        break;
-                    }
-                }
+        // Held for most of the period so other replicas' ticks in this period skip the run
+        if (!clusterCoordinator.isShardingEnabled()
+                && !clusterCoordinator.tryAcquire(JOB_NAME, Duration.ofMillis(rateMs * 9 / 10))) {
+            log.debug("AutoCloseJob: lease held by another node, skipping this tick");
+            return;
+        }
+        ClusterCoordinator.Shard shard = clusterCoordinator.currentShard();
+        log.info("AutoCloseJob: scanning active alerts (TTL = {}h, shard {}) …", ttlHours, shard);
+        LocalDateTime startedAt = LocalDateTime.now();
+        long started = System.nanoTime();
+
+        RunStats stats = new RunStats();
+        try {
+            boolean ranged = parallelEnabled || shard.count() > 1;
+            long[] bounds = ranged ? activeIdBounds() : null;
+            // Ranges are cut from the active ids; if there are none there is nothing to evaluate or expire
+            if (!ranged || bounds != null) {
+                ClusterCoordinator.IdRange range = shard.count() > 1
+                        ? shard.slice(bounds[0], bounds[1]) : ClusterCoordinator.IdRange.ALL;
+                reevaluateRules(ruleEngine.getSnapshot(), range, bounds, stats);
+                closeExpired(LocalDateTime.now().minusHours(ttlHours), range, stats);
             }
+        } finally {
+            double seconds = Math.max((System.nanoTime() - started) / 1e9, 1e-3);
+            String summary = String.format("shard %s — scanned: %d, rule-closed: %d, TTL-closed: %d in %d ms",
+                    shard, stats.scanned, stats.ruleClosed, stats.ttlClosed, Math.round(seconds * 1000));
+            clusterCoordinator.finish(JOB_NAME, startedAt, summary);
+            runTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            scannedCounter.increment(stats.scanned);
+            ruleClosedCounter.increment(stats.ruleClosed);
+            ttlClosedCounter.increment(stats.ttlClosed);
+            log.info("AutoCloseJob complete: {} ({} alerts/s)", summary,
+                    Math.round((stats.scanned + stats.ttlClosed) / seconds));
+        }
+    }
+
+    // {MIN, MAX} of the active alertIds, or null when nothing is active
+    private long[] activeIdBounds() {
+        Object[] row = alertRepository.findActiveIdBounds(AlertCloser.ACTIVE).get(0);
+        return row[0] == null ? null : new long[] { ((Number) row[0]).longValue(), ((Number) row[1]).longValue() };
+    }
 
-            if (alert.getStatus() == AlertStatus.AUTO_CLOSED)
+    // Pass 1: keyset walk over active alerts whose sourceType has a rule, in this node's alertId range
+    private void reevaluateRules(RuleSnapshot rules, ClusterCoordinator.IdRange range, long[] bounds,
+            RunStats stats) {
+        List<String> ruleTypes = new ArrayList<>(rules.plans().keySet());
+        if (ruleTypes.isEmpty()) {
+            return;
+        }
+        if (parallelEnabled) {
+            reevaluateInParallel(rules, ruleTypes, range, bounds, stats);
+            return;
+        }
+        reevaluateRange(rules, ruleTypes, range, stats);
+    }
+
+    private void reevaluateInParallel(RuleSnapshot rules, List<String> ruleTypes, ClusterCoordinator.IdRange range,
+            long[] bounds, RunStats stats) {
+        List<Future<?>> futures = new ArrayList<>();
+        for (int partition = 0; partition < partitions; partition++) {
+            ClusterCoordinator.IdRange part = range.part(partition, partitions, bounds[0], bounds[1]);
+            futures.add(partitionExecutor.submit(() -> reevaluateRange(rules, ruleTypes, part, stats)));
+        }
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(f -> f.cancel(true));
+                return;
+            } catch (ExecutionException e) {
+                // Other partitions have committed their own chunks; this one is retried next run
+                log.error("AutoCloseJob partition failed", e.getCause());
+            }
+        }
+    }
+
+    private void reevaluateRange(RuleSnapshot rules, List<String> ruleTypes, ClusterCoordinator.IdRange range,
+            RunStats stats) {
+        long fromId = range.from();
+        ChunkResult result;
+        do {
+            long chunkFrom = fromId;
+            connectionPermits.acquireUninterruptibly();
+            try {
+                result = transactionTemplate.execute(tx -> reevaluateChunk(rules, chunkFrom,
+                        alertRepository.findActiveRangeChunk(AlertCloser.ACTIVE, ruleTypes, chunkFrom, range.to(),
+                                PageRequest.of(0, chunkSize))));
+            } finally {
+                connectionPermits.release();
+            }
+            fromId = result.lastId() + 1;
+            stats.add(result);
+        } while (result.loaded() == chunkSize);
+    }
+
+    private ChunkResult reevaluateChunk(RuleSnapshot rules, long fromId, List<Alert> chunk) {
+        List<AlertHistory> histories = new ArrayList<>();
+        for (Alert alert : chunk) {
+            RulePlan plan = rules.planFor(alert.getSourceType());
+            if (plan == null) {
                 continue;
+            }
+            AlertStatus before = alert.getStatus();
+            Severity severityBefore = alert.getSeverity();
+            // Locked managed entity: changes are flushed as batched UPDATEs on commit, and nobody
+            // else can close the row in between
+            ruleMetrics.evaluate(plan, alert);
+            if (alert.getStatus() == before && alert.getSeverity() == severityBefore) {
+                continue;
+            }
+            alertCounters.transitioned(alert.getSourceType(), severityBefore, before,
+                    alert.getSeverity(), alert.getStatus());
+            rollups.severityChanged(alert, severityBefore);
+            if (alert.getStatus() != before) {
+                dashboardStream.publishAfterCommit(DashboardEventDTO.transition(alert.getAlertId(),
+                        alert.getSourceType(), alert.getDriverId(), alert.getSeverity(), before, alert.getStatus()));
+            }
 
-            if (alert.getTimestamp().isBefore(expiryThreshold)) {
-                AlertStatus before = alert.getStatus();
-                alert.setStatus(AlertStatus.AUTO_CLOSED);
-                alertRepository.save(alert);
-                logHistory(alert, before, AlertStatus.AUTO_CLOSED,
-                        "Time window expired (" + ttlHours + "h policy)");
-                ttlClosedCount++;
+            if (alert.getStatus() == AlertStatus.AUTO_CLOSED) {
+                histories.add(AlertCloser.history(alert.getAlertId(), before, "Rule condition satisfied by scheduler"));
+                expiryScheduler.cancel(alert.getAlertId(), alert.getTimestamp());
+                driverLeaderboard.closed(alert.getSourceType(), alert.getDriverId());
             }
         }
+        historyWriter.appendAll(histories);
+
+        long lastId = chunk.isEmpty() ? fromId : chunk.get(chunk.size() - 1).getAlertId();
+        return new ChunkResult(chunk.size(), lastId, histories.size());
+    }
 
-        log.info("AutoCloseJob complete — rule-closed: {}, TTL-closed: {}", ruleClosedCount, ttlClosedCount);
+    // Pass 2: set-based TTL expiry; closed rows drop out of the predicate, so no cursor is needed
+    private void closeExpired(LocalDateTime expiryThreshold, ClusterCoordinator.IdRange range, RunStats stats) {
+        String reason = "Time window expired (" + ttlHours + "h policy)";
+        int closed;
+        do {
+            closed = transactionTemplate.execute(tx -> closeExpiredChunk(expiryThreshold, range, reason));
+            stats.addTtlClosed(closed);
+        } while (closed == chunkSize);
     }
 
-    private void logHistory(Alert alert, AlertStatus from, AlertStatus to, String reason) {
-        AlertHistory history = new AlertHistory();
-        history.setAlertId(alert.getAlertId());
-        history.setPreviousStatus(from);
-        history.setNewStatus(to);
-        history.setTransitionTime(LocalDateTime.now());
-        history.setReason(reason);
-        historyRepository.save(history);
-        log.info("Auto-closed alert #{} — {}", alert.getAlertId(), reason);
+    private int closeExpiredChunk(LocalDateTime expiryThreshold, ClusterCoordinator.IdRange range, String reason) {
+        // Locks the rows so a concurrent resolve can't slip between the read and the UPDATE
+        List<Object[]> locked = range.equals(ClusterCoordinator.IdRange.ALL)
+                ? alertRepository.lockExpiredActive(expiryThreshold, chunkSize)
+                : alertRepository.lockExpiredActiveInRange(expiryThreshold, range.from(), range.to(), chunkSize);
+        int closed = alertCloser.autoClose(locked, reason);
+        log.debug("Auto-closed {} alerts — {}", closed, reason);
+        return closed;
+    }
+
+    private record ChunkResult(int loaded, long lastId, int closed) {
+    }
+
+    // Virtual threads where the runtime has them (Java 21+); the semaphore still caps DB connections
+    private static ExecutorService newPartitionExecutor(int threads) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(threads);
+        }
+    }
+
+    private static final class RunStats {
+        long scanned;
+        long ruleClosed;
+        long ttlClosed;
+
+        synchronized void add(ChunkResult chunk) {
+            scanned += chunk.loaded();
+            ruleClosed += chunk.closed();
+        }
+
+        synchronized void addTtlClosed(int closed) {
+            ttlClosed += closed;
+        }
     }
-}
\ No newline at end of file
+}
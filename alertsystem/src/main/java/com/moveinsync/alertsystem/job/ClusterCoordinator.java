@@ -0,0 +1,266 @@
+package com.moveinsync.alertsystem.job;
+
+import com.moveinsync.alertsystem.entity.SchedulerLease;
+import com.moveinsync.alertsystem.entity.SchedulerNode;
+import com.moveinsync.alertsystem.repository.SchedulerLeaseRepository;
+import com.moveinsync.alertsystem.repository.SchedulerNodeRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coordinates scheduled jobs across replicas through the database alone.
+ *
+ * Leases: a job runs on a node only if a conditional UPDATE on {@code scheduler_lease}
+ * hands it the row (expired, or already its own), so exactly one replica runs each tick.
+ * While a job is running the heartbeat keeps extending its lease, so a long run is not
+ * taken over; if the node dies the lease lapses and the next tick elsewhere picks it up.
+ *
+ * Sharding: every node heartbeats into {@code scheduler_node}; with
+ * {@code alert.cluster.sharding.enabled} jobs skip the lease and each node works on its
+ * own {@link Shard} of the live membership instead.
+ *
+ * Times come from the node clocks, which are assumed NTP-synced; the lease grace of
+ * three heartbeats absorbs small skew.
+ */
+@Component
+public class ClusterCoordinator {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterCoordinator.class);
+
+    private final SchedulerLeaseRepository leaseRepository;
+    private final SchedulerNodeRepository nodeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String nodeId;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final Set<String> runningJobs = ConcurrentHashMap.newKeySet();
+    // This node's own last runs; with sharding every node runs, so the shared row only shows the latest
+    private final Map<String, String> localLastRuns = new ConcurrentHashMap<>();
+
+    @Value("${alert.cluster.heartbeat-ms:10000}")
+    private long heartbeatMs;
+
+    @Value("${alert.cluster.sharding.enabled:false}")
+    private boolean shardingEnabled;
+
+    public ClusterCoordinator(SchedulerLeaseRepository leaseRepository,
+            SchedulerNodeRepository nodeRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${alert.cluster.node-id:}") String nodeId) {
+        this.leaseRepository = leaseRepository;
+        this.nodeRepository = nodeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.nodeId = nodeId.isBlank() ? defaultNodeId() : nodeId;
+    }
+
+    @PostConstruct
+    public void register() {
+        heartbeat();
+        log.info("Cluster node {} registered (sharding {})", nodeId, shardingEnabled ? "on" : "off");
+    }
+
+    @PreDestroy
+    public void deregister() {
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                leaseRepository.releaseAll(nodeId, LocalDateTime.now());
+                nodeRepository.deleteById(nodeId);
+            });
+        } catch (DataAccessException e) {
+            log.warn("Could not deregister cluster node {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public boolean isShardingEnabled() {
+        return shardingEnabled;
+    }
+
+    /**
+     * Takes the job's lease for at least {@code hold}. Returns false if another live
+     * node holds it, or if the database can't be reached (never run uncoordinated).
+     */
+    public boolean tryAcquire(String jobName, Duration hold) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(hold.compareTo(leaseGrace()) > 0 ? hold : leaseGrace());
+        try {
+            Integer acquired = transactionTemplate.execute(tx -> leaseRepository.tryAcquire(jobName, nodeId, now, until));
+            if (acquired == 0 && !leaseRepository.existsById(jobName)) {
+                acquired = createLease(jobName, until);
+            }
+            if (acquired == 0) {
+                return false;
+            }
+        } catch (DataAccessException e) {
+            log.warn("Lease for {} not acquired: {}", jobName, e.getMessage());
+            return false;
+        }
+        runningJobs.add(jobName);
+        return true;
+    }
+
+    // Keeps the lease until it expires on its own, so other nodes skip the rest of this tick
+    public void finish(String jobName, LocalDateTime runStartedAt, String summary) {
+        runningJobs.remove(jobName);
+        localLastRuns.put(jobName, runStartedAt + " — " + summary);
+        try {
+            transactionTemplate.executeWithoutResult(tx ->
+                    leaseRepository.recordRun(jobName, nodeId, runStartedAt, LocalDateTime.now(), summary));
+        } catch (DataAccessException e) {
+            log.warn("Could not record run of {}: {}", jobName, e.getMessage());
+        }
+    }
+
+    /**
+     * This node's slice of the live membership. {@link Shard#SINGLE} when sharding is
+     * off. Membership changes between two nodes' reads can briefly overlap or skip a
+     * slice; every close re-checks status, and skipped alerts are picked up next run.
+     */
+    public Shard currentShard() {
+        if (!shardingEnabled) {
+            return Shard.SINGLE;
+        }
+        List<String> live = new ArrayList<>(nodeRepository.findLiveNodeIds(LocalDateTime.now().minus(leaseGrace())));
+        if (!live.contains(nodeId)) {
+            live.add(nodeId);
+            live.sort(null);
+        }
+        return new Shard(live.indexOf(nodeId), live.size());
+    }
+
+    @Scheduled(fixedDelayString = "${alert.cluster.heartbeat-ms:10000}")
+    public void heartbeat() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                SchedulerNode node = new SchedulerNode();
+                node.setNodeId(nodeId);
+                node.setStartedAt(startedAt);
+                node.setHeartbeatAt(now);
+                nodeRepository.save(node);
+
+                if (!runningJobs.isEmpty()) {
+                    leaseRepository.extend(new ArrayList<>(runningJobs), nodeId, now.plus(leaseGrace()));
+                }
+                nodeRepository.deleteStale(now.minus(leaseGrace().multipliedBy(10)));
+            });
+        } catch (DataAccessException e) {
+            log.warn("Heartbeat of node {} failed: {}", nodeId, e.getMessage());
+        }
+    }
+
+    // Snapshot for the actuator endpoint
+    public Map<String, Object> describe() {
+        List<Map<String, Object>> leases = new ArrayList<>();
+        for (SchedulerLease lease : leaseRepository.findAll()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("job", lease.getJobName());
+            row.put("holder", lease.getOwner());
+            row.put("leaseUntil", lease.getLeaseUntil());
+            row.put("lastRunOwner", lease.getLastRunOwner());
+            row.put("lastRunStartedAt", lease.getLastRunStartedAt());
+            row.put("lastRunFinishedAt", lease.getLastRunFinishedAt());
+            row.put("lastRunSummary", lease.getLastRunSummary());
+            leases.add(row);
+        }
+
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("nodeId", nodeId);
+        info.put("shardingEnabled", shardingEnabled);
+        info.put("liveNodes", nodeRepository.findLiveNodeIds(LocalDateTime.now().minus(leaseGrace())));
+        info.put("runningJobs", new ArrayList<>(runningJobs));
+        info.put("leases", leases);
+        info.put("localLastRuns", localLastRuns);
+        return info;
+    }
+
+    private int createLease(String jobName, LocalDateTime until) {
+        SchedulerLease lease = new SchedulerLease();
+        lease.setJobName(jobName);
+        lease.setOwner(nodeId);
+        lease.setLeaseUntil(until);
+        try {
+            transactionTemplate.executeWithoutResult(tx -> leaseRepository.saveAndFlush(lease));
+            return 1;
+        } catch (DataIntegrityViolationException e) {
+            return 0; // another node created the row first and holds it
+        }
+    }
+
+    private Duration leaseGrace() {
+        return Duration.ofMillis(heartbeatMs * 3);
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Slice {@code index} of {@code count}: one contiguous alertId range, so a shard's rows
+     * are read with a primary-key range scan. Nodes cut the ranges from their own read of
+     * the active ids' MIN/MAX, so boundaries can briefly disagree like membership can.
+     */
+    public record Shard(int index, int count) {
+
+        public static final Shard SINGLE = new Shard(0, 1);
+
+        /** This shard's part of the active ids {@code [min, max]}. */
+        public IdRange slice(long min, long max) {
+            return IdRange.ALL.part(index, count, min, max);
+        }
+
+        @Override
+        public String toString() {
+            return index + "/" + count;
+        }
+    }
+
+    /** alertIds {@code from} (inclusive) to {@code to} (exclusive). */
+    public record IdRange(long from, long to) {
+
+        public static final IdRange ALL = new IdRange(Long.MIN_VALUE, Long.MAX_VALUE);
+
+        public boolean contains(long alertId) {
+            return alertId >= from && alertId < to;
+        }
+
+        /**
+         * Part {@code i} of {@code n} equal cuts of this range within {@code [min, max]}.
+         * The first and last parts keep this range's own ends, so ids outside
+         * {@code [min, max]} (e.g. alerts ingested since it was read) still belong to one.
+         */
+        public IdRange part(int i, int n, long min, long max) {
+            long lo = Math.max(from, min);
+            long span = Math.max(Math.min(to, max + 1) - lo, 0);
+            return new IdRange(i == 0 ? from : lo + span * i / n, i == n - 1 ? to : lo + span * (i + 1) / n);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.moveinsync.alertsystem.job;
+
+import com.moveinsync.alertsystem.config.SqlDialect;
+import com.moveinsync.alertsystem.entity.SchedulerLease;
+import com.moveinsync.alertsystem.repository.SchedulerLeaseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * One-off backfill of {@code alert.driver_id} for rows ingested before the column existed.
+ *
+ * Runs in the background after startup, on one replica under the {@value #JOB_NAME}
+ * lease, walking the primary key in chunks of {@code alert.backfill.chunk-size} ids so
+ * each statement touches a bounded, index-ordered slice and no row is scanned twice.
+ * Rows whose metadata carries no driver id (or a JSON null one) are left NULL, which is
+ * also what ingest writes for them. Once a pass reaches the end the lease row records
+ * it as {@value #DONE}, and later boots skip the job. A pass cut short by a restart or
+ * an error starts over on the next tick; rows it already filled no longer match.
+ * MySQL only: the embedded database used locally never holds rows from before the column.
+ */
+@Component
+public class DriverIdBackfillJob {
+
+    private static final Logger log = LoggerFactory.getLogger(DriverIdBackfillJob.class);
+
+    static final String JOB_NAME = "driverIdBackfill";
+    static final String DONE = "done";
+
+    // First non-null of the two spellings ingest accepts; a JSON null is absent, not the string "null"
+    private static final String DRIVER_ID =
+            "COALESCE(" + field("$.driverId") + ", " + field("$.driverID") + ")";
+
+    private static final String CHUNK_END_SQL =
+            "SELECT MAX(alert_id) FROM (SELECT alert_id FROM alert WHERE alert_id > ? " +
+            "ORDER BY alert_id LIMIT ?) chunk";
+
+    private static final String BACKFILL_SQL =
+            "UPDATE alert SET driver_id = " + DRIVER_ID + " " +
+            "WHERE alert_id > ? AND alert_id <= ? AND driver_id IS NULL AND JSON_VALID(metadata) " +
+            "AND " + DRIVER_ID + " IS NOT NULL";
+
+    @Value("${alert.backfill.chunk-size:5000}")
+    private int chunkSize;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SqlDialect sqlDialect;
+    private final ClusterCoordinator clusterCoordinator;
+    private final SchedulerLeaseRepository leaseRepository;
+    private volatile boolean done;
+
+    public DriverIdBackfillJob(JdbcTemplate jdbcTemplate, SqlDialect sqlDialect,
+            ClusterCoordinator clusterCoordinator, SchedulerLeaseRepository leaseRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sqlDialect = sqlDialect;
+        this.clusterCoordinator = clusterCoordinator;
+        this.leaseRepository = leaseRepository;
+    }
+
+    @Scheduled(fixedDelayString = "${alert.backfill.retry-ms:600000}",
+            initialDelayString = "${alert.backfill.initial-delay-ms:60000}")
+    public void backfillDriverIds() {
+        if (done) {
+            return;
+        }
+        if (!sqlDialect.isMySql()) {
+            log.debug("driverId backfill skipped: needs MySQL JSON functions");
+            done = true;
+            return;
+        }
+        if (isRecordedDone() || !clusterCoordinator.tryAcquire(JOB_NAME, Duration.ofMinutes(1))) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        long total = 0;
+        String summary = "stopped";
+        try {
+            total = backfill();
+            summary = DONE + ", " + total + " rows";
+            done = true;
+        } catch (Exception e) {
+            summary = "stopped: " + e.getMessage();
+            log.warn("driverId backfill {}", summary);
+        } finally {
+            clusterCoordinator.finish(JOB_NAME, startedAt, summary);
+        }
+        if (total > 0) {
+            log.info("Backfilled driverId on {} existing alerts", total);
+        }
+    }
+
+    /** One keyset pass over the whole table; returns how many rows were filled. */
+    long backfill() {
+        long total = 0;
+        long after = 0;
+        Long end;
+        while ((end = jdbcTemplate.queryForObject(CHUNK_END_SQL, Long.class, after, chunkSize)) != null) {
+            total += jdbcTemplate.update(BACKFILL_SQL, after, end);
+            after = end;
+        }
+        return total;
+    }
+
+    // Another replica (or an earlier boot) finished the pass
+    private boolean isRecordedDone() {
+        String summary = leaseRepository.findById(JOB_NAME).map(SchedulerLease::getLastRunSummary).orElse(null);
+        if (summary != null && summary.startsWith(DONE)) {
+            done = true;
+        }
+        return done;
+    }
+
+    private static String field(String path) {
+        return "IF(JSON_TYPE(JSON_EXTRACT(metadata, '" + path + "')) = 'NULL', NULL, " +
+                "JSON_UNQUOTE(JSON_EXTRACT(metadata, '" + path + "')))";
+    }
+}
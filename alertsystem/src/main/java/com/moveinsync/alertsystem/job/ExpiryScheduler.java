@@ -0,0 +1,340 @@
+package com.moveinsync.alertsystem.job;
+
+import com.moveinsync.alertsystem.entity.Alert;
+import com.moveinsync.alertsystem.entity.AlertStatus;
+import com.moveinsync.alertsystem.repository.AlertRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closes alerts when their TTL deadline ({@code timestamp + alert.ttl.hours}) passes,
+ * instead of waiting for the next full scan.
+ *
+ * Deadlines live in a timing wheel: one slot per {@code alert.expiry.tick-ms}, each
+ * holding the alert ids due in it (8 bytes per alert). The wheel is filled from the
+ * database on idx_status_timestamp: when this node becomes the owner it loads every
+ * active alert due within the next two {@code alert.expiry.refill-ms}, overdue ones
+ * included, and every {@code refill-ms} after that it loads the next window on, so it
+ * covers alerts ingested on any replica. Resolved or rule-closed alerts are removed
+ * from their slot. Each tick drains the slots that are due and closes them through
+ * {@link AlertCloser}; the close re-checks the status, so an id that was closed
+ * elsewhere is simply skipped.
+ *
+ * Replicas: by default only the holder of the {@value #JOB_NAME} lease keeps a wheel;
+ * the lease is re-checked once per {@code alert.cluster.heartbeat-ms} rather than every
+ * tick. With cluster sharding on, every replica keeps the wheel for its own
+ * {@link ClusterCoordinator.Shard#slice slice} of alertIds. A node that loses the lease
+ * or whose slice moves drops its wheel and, if still an owner, loads it again.
+ * AutoCloseJob's TTL pass remains the backstop.
+ */
+@Component
+public class ExpiryScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpiryScheduler.class);
+
+    static final String JOB_NAME = "expiryScheduler";
+
+    private final AlertRepository alertRepository;
+    private final AlertCloser alertCloser;
+    private final ClusterCoordinator clusterCoordinator;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer tickTimer;
+    private final Timer latencyTimer;
+
+    @Value("${alert.ttl.hours:24}")
+    private int ttlHours;
+
+    @Value("${alert.expiry.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${alert.expiry.max-per-tick:5000}")
+    private int maxPerTick;
+
+    @Value("${alert.autoclose.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${alert.expiry.refill-ms:60000}")
+    private long refillMs;
+
+    @Value("${alert.cluster.heartbeat-ms:10000}")
+    private long heartbeatMs;
+
+    // slot (deadline / tickMs, rounded up) -> ids due in that slot; guarded by 'this'
+    private final TreeMap<Long, IdBucket> wheel = new TreeMap<>();
+    private long pending;
+    // Active alerts ingested before this are in the wheel; null while this node owns nothing. Guarded by 'this'
+    private LocalDateTime loadedBefore;
+    private ClusterCoordinator.IdRange range = ClusterCoordinator.IdRange.ALL;
+
+    // Coordination state, only touched by the (single) tick thread
+    private long coordinatedAtMs;
+    private long refilledAtMs;
+    private boolean leaseHeld;
+
+    public ExpiryScheduler(AlertRepository alertRepository,
+            AlertCloser alertCloser,
+            ClusterCoordinator clusterCoordinator,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.alertRepository = alertRepository;
+        this.alertCloser = alertCloser;
+        this.clusterCoordinator = clusterCoordinator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tickTimer = Timer.builder("alert.expiry.tick")
+                .description("Time spent per expiry tick, including the close transactions")
+                .register(meterRegistry);
+        this.latencyTimer = Timer.builder("alert.expiry.latency")
+                .description("How long after its TTL deadline an alert was actually closed")
+                .register(meterRegistry);
+        Gauge.builder("alert.expiry.pending", this, ExpiryScheduler::pendingCount)
+                .description("Alerts waiting in the expiry wheel")
+                .register(meterRegistry);
+    }
+
+    /** Drops the wheel; the next tick loads it from the database again if this node is an owner. */
+    public synchronized void rebuild() {
+        reset(range);
+    }
+
+    /**
+     * Adds a newly ingested alert once its transaction commits, so a rolled-back
+     * ingest never reaches the wheel. Only needed when its deadline falls in a window
+     * this node has already loaded (a TTL shorter than the refill horizon); later
+     * deadlines are picked up by the refill. Alerts that start out closed are ignored.
+     */
+    public void scheduleAfterCommit(Alert alert) {
+        if (alert.getStatus() != AlertStatus.OPEN && alert.getStatus() != AlertStatus.ESCALATED) {
+            return;
+        }
+        Long alertId = alert.getAlertId();
+        LocalDateTime timestamp = alert.getTimestamp();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            addIfLoaded(alertId, timestamp);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                addIfLoaded(alertId, timestamp);
+            }
+        });
+    }
+
+    // Removes an alert that was closed before its deadline
+    public synchronized void cancel(Long alertId, LocalDateTime timestamp) {
+        long slot = slotOf(timestamp);
+        IdBucket bucket = wheel.get(slot);
+        if (bucket != null && bucket.remove(alertId)) {
+            pending--;
+            if (bucket.size == 0) {
+                wheel.remove(slot);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${alert.expiry.tick-ms:1000}")
+    public void tick() {
+        long started = System.nanoTime();
+        long nowMs = System.currentTimeMillis();
+        String reason = "Time window expired (" + ttlHours + "h policy)";
+        if (!coordinate(nowMs)) {
+            tickTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return;
+        }
+        if (nowMs - refilledAtMs >= refillMs || !isLoaded()) {
+            refilledAtMs = nowMs;
+            refill();
+        }
+        int closed = 0;
+
+        int budget = maxPerTick;
+        while (budget > 0) {
+            List<long[]> due = drainDue(nowMs / tickMs, Math.min(chunkSize, budget));
+            if (due.isEmpty()) {
+                break;
+            }
+            budget -= due.size();
+            List<Long> ids = new ArrayList<>(due.size());
+            due.forEach(entry -> ids.add(entry[0]));
+
+            closed += transactionTemplate.execute(tx ->
+                    alertCloser.autoClose(alertRepository.lockActiveByIds(ids), reason));
+            long closedAt = System.currentTimeMillis();
+            due.forEach(entry -> latencyTimer.record(Math.max(0, closedAt - entry[1] * tickMs),
+                    TimeUnit.MILLISECONDS));
+        }
+
+        tickTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        if (closed > 0) {
+            log.info("Expiry tick closed {} alert(s) — {}", closed, reason);
+        }
+    }
+
+    // Lease or shard, refreshed once per heartbeat; the lease is held for two heartbeats
+    private boolean coordinate(long nowMs) {
+        if (nowMs - coordinatedAtMs < heartbeatMs) {
+            return leaseHeld;
+        }
+        coordinatedAtMs = nowMs;
+        boolean wasOwner = leaseHeld;
+        ClusterCoordinator.IdRange owned;
+        if (clusterCoordinator.isShardingEnabled()) {
+            owned = shardRange(clusterCoordinator.currentShard());
+            leaseHeld = true;
+        } else {
+            owned = ClusterCoordinator.IdRange.ALL;
+            leaseHeld = clusterCoordinator.tryAcquire(JOB_NAME, Duration.ofMillis(heartbeatMs * 2));
+        }
+        if (!leaseHeld || !wasOwner || !owned.equals(currentRange())) {
+            // Whatever was loaded may belong to someone else now; the next refill starts over
+            reset(owned);
+        }
+        return leaseHeld;
+    }
+
+    // Loads the active alerts ingested since the last refill that fall due within two refills from now
+    private void refill() {
+        LocalDateTime before = LocalDateTime.now().minusHours(ttlHours).plus(Duration.ofMillis(refillMs * 2));
+        boolean initial;
+        LocalDateTime from;
+        ClusterCoordinator.IdRange owned;
+        synchronized (this) {
+            initial = loadedBefore == null;
+            from = initial ? LocalDateTime.of(1970, 1, 1, 0, 0) : loadedBefore;
+            owned = range;
+        }
+        LocalDateTime afterTime = from;
+        long afterId = Long.MIN_VALUE;
+        List<Object[]> rows = new ArrayList<>();
+        List<Object[]> chunk;
+        do {
+            chunk = alertRepository.findActiveDueChunk(AlertCloser.ACTIVE, afterTime, afterId, before,
+                    owned.from(), owned.to(), PageRequest.of(0, chunkSize));
+            if (!chunk.isEmpty()) {
+                Object[] last = chunk.get(chunk.size() - 1);
+                afterId = ((Number) last[0]).longValue();
+                afterTime = (LocalDateTime) last[1];
+            }
+            rows.addAll(chunk);
+        } while (chunk.size() == chunkSize);
+
+        synchronized (this) {
+            rows.forEach(row -> add(((Number) row[0]).longValue(), (LocalDateTime) row[1]));
+            loadedBefore = before;
+        }
+        if (initial) {
+            log.info("Expiry wheel loaded with {} active alerts due before {} (TTL = {}h, alertIds {})",
+                    rows.size(), before.plusHours(ttlHours), ttlHours, owned);
+        }
+    }
+
+    // Same cut of the active ids as AutoCloseJob's
+    private ClusterCoordinator.IdRange shardRange(ClusterCoordinator.Shard shard) {
+        if (shard.count() == 1) {
+            return ClusterCoordinator.IdRange.ALL;
+        }
+        Object[] bounds = alertRepository.findActiveIdBounds(AlertCloser.ACTIVE).get(0);
+        return bounds[0] == null ? ClusterCoordinator.IdRange.ALL
+                : shard.slice(((Number) bounds[0]).longValue(), ((Number) bounds[1]).longValue());
+    }
+
+    synchronized long pendingCount() {
+        return pending;
+    }
+
+    private synchronized boolean isLoaded() {
+        return loadedBefore != null;
+    }
+
+    private synchronized ClusterCoordinator.IdRange currentRange() {
+        return range;
+    }
+
+    private synchronized void reset(ClusterCoordinator.IdRange owned) {
+        wheel.clear();
+        pending = 0;
+        loadedBefore = null;
+        range = owned;
+    }
+
+    // Later deadlines than the loaded window are left to the refill, so nothing is in the wheel twice
+    private synchronized void addIfLoaded(Long alertId, LocalDateTime timestamp) {
+        if (loadedBefore != null && timestamp.isBefore(loadedBefore) && range.contains(alertId)) {
+            add(alertId, timestamp);
+        }
+    }
+
+    private synchronized void add(Long alertId, LocalDateTime timestamp) {
+        wheel.computeIfAbsent(slotOf(timestamp), s -> new IdBucket()).add(alertId);
+        pending++;
+    }
+
+    // Removes up to 'limit' ids from slots at or before 'nowSlot'; returns {alertId, slot} pairs
+    private synchronized List<long[]> drainDue(long nowSlot, int limit) {
+        List<long[]> due = new ArrayList<>();
+        while (due.size() < limit) {
+            Map.Entry<Long, IdBucket> first = wheel.firstEntry();
+            if (first == null || first.getKey() > nowSlot) {
+                break;
+            }
+            IdBucket bucket = first.getValue();
+            while (bucket.size > 0 && due.size() < limit) {
+                due.add(new long[] { bucket.ids[--bucket.size], first.getKey() });
+            }
+            if (bucket.size == 0) {
+                wheel.remove(first.getKey());
+            }
+        }
+        pending -= due.size();
+        return due;
+    }
+
+    private long slotOf(LocalDateTime timestamp) {
+        long deadlineMs = timestamp.plusHours(ttlHours).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return (deadlineMs + tickMs - 1) / tickMs;
+    }
+
+    // Growable array of alert ids; a slot only holds the alerts ingested within one tick
+    private static final class IdBucket {
+        long[] ids = new long[4];
+        int size;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        boolean remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.moveinsync.alertsystem.job;
+
+import com.moveinsync.alertsystem.config.SqlDialect;
+import com.moveinsync.alertsystem.entity.AlertStatus;
+import com.moveinsync.alertsystem.entity.Severity;
+import com.moveinsync.alertsystem.service.AlertCounterService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Partition upkeep for the partitioned schema ({@code alert.schema.partitioned}, see
+ * {@code db/partitioned}), where {@code alert} and {@code alert_history} are range
+ * partitioned by day or week on {@code timestamp} / {@code transition_time}.
+ *
+ * Each tick, on one replica under the {@value #JOB_NAME} lease, it splits
+ * {@code p_future} so the current period and the next {@code alert.partition.precreate}
+ * have their own partition, and drops partitions wholly older than
+ * {@code alert.partition.retention-days}. A drop is a metadata change, however many
+ * rows the partition holds, so retention costs no row-by-row deletes or undo log.
+ * Partitions are named after their lower bound: {@code p20261019} holds the week (or
+ * day) starting 2026-10-19.
+ *
+ * Dropped alerts leave the severity counters, as purged archive rows do; their trend
+ * rollups are kept.
+ */
+@Component
+public class PartitionMaintenanceJob {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionMaintenanceJob.class);
+
+    static final String JOB_NAME = "partitionMaintenance";
+
+    static final String FUTURE = "p_future";
+    private static final String HISTORY = "p_history";
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final List<String> TABLES = List.of("alert", "alert_history");
+
+    /** One partition; {@code upper} is null for the MAXVALUE partition. */
+    record Partition(String name, LocalDate upper) {
+    }
+
+    enum Interval {
+        DAY, WEEK;
+
+        LocalDate align(LocalDate day) {
+            return this == DAY ? day : day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+
+        LocalDate next(LocalDate boundary) {
+            return this == DAY ? boundary.plusDays(1) : boundary.plusWeeks(1);
+        }
+    }
+
+    @Value("${alert.schema.partitioned:false}")
+    private boolean partitioned;
+
+    @Value("${alert.partition.interval:week}")
+    private String interval;
+
+    @Value("${alert.partition.precreate:4}")
+    private int precreate;
+
+    @Value("${alert.partition.retention-days:365}")
+    private int retentionDays;
+
+    @Value("${alert.partition.fingerprint-chunk-size:5000}")
+    private int fingerprintChunkSize;
+
+    @Value("${alert.partition.rate-ms:3600000}")
+    private long rateMs;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ClusterCoordinator clusterCoordinator;
+    private final AlertCounterService alertCounters;
+    private final SqlDialect sqlDialect;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter createdCounter;
+    private final Counter droppedCounter;
+
+    public PartitionMaintenanceJob(JdbcTemplate jdbcTemplate,
+            ClusterCoordinator clusterCoordinator,
+            AlertCounterService alertCounters,
+            SqlDialect sqlDialect,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clusterCoordinator = clusterCoordinator;
+        this.alertCounters = alertCounters;
+        this.sqlDialect = sqlDialect;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.createdCounter = Counter.builder("alert.partition.created")
+                .description("Partitions split off p_future ahead of time")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("alert.partition.dropped")
+                .description("Partitions dropped past the retention limit")
+                .register(meterRegistry);
+    }
+
+    // Fail fast rather than run against tables the partitioned code paths don't match
+    @PostConstruct
+    public void verifySchema() {
+        if (!partitioned) {
+            return;
+        }
+        if (!sqlDialect.isMySql()) {
+            throw new IllegalStateException("alert.schema.partitioned requires MySQL");
+        }
+        for (String table : TABLES) {
+            if (partitions(table).isEmpty()) {
+                throw new IllegalStateException("Table " + table + " is not partitioned; "
+                        + "convert it with db/partitioned-convert.sql before enabling alert.schema.partitioned");
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${alert.partition.rate-ms:3600000}")
+    public void maintain() {
+        if (!partitioned || !clusterCoordinator.tryAcquire(JOB_NAME, Duration.ofMillis(rateMs * 9 / 10))) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        Interval step = Interval.valueOf(interval.trim().toUpperCase(Locale.ROOT));
+        LocalDate today = startedAt.toLocalDate();
+        LocalDate cutoff = today.minusDays(Math.max(retentionDays, 1));
+        int created = 0;
+        int dropped = 0;
+        long fingerprints = 0;
+        try {
+            for (String table : TABLES) {
+                List<Partition> partitions = partitions(table);
+                created += create(table, plan(partitions, today, step, precreate));
+                dropped += drop(table, expired(partitions, cutoff));
+            }
+            fingerprints = purgeFingerprints(cutoff.atStartOfDay());
+        } finally {
+            String summary = "created " + created + ", dropped " + dropped + " partitions, purged "
+                    + fingerprints + " fingerprints";
+            clusterCoordinator.finish(JOB_NAME, startedAt, summary);
+            if (created + dropped > 0) {
+                log.info("PartitionMaintenanceJob complete: {}", summary);
+            }
+        }
+    }
+
+    /**
+     * Partitions to split off {@code p_future} so every period up to {@code precreate}
+     * past the current one has its own. A gap left by a long outage becomes one
+     * partition reaching up to the current period.
+     */
+    static List<Partition> plan(List<Partition> existing, LocalDate today, Interval step, int precreate) {
+        LocalDate current = step.align(today);
+        LocalDate lower = existing.stream()
+                .map(Partition::upper)
+                .filter(upper -> upper != null)
+                .max(LocalDate::compareTo)
+                .orElse(current);
+        LocalDate target = current;
+        for (int i = 0; i <= Math.max(precreate, 0); i++) {
+            target = step.next(target);
+        }
+        List<Partition> planned = new ArrayList<>();
+        LocalDate upper = lower.isBefore(current) ? current : step.next(lower);
+        while (!upper.isAfter(target)) {
+            planned.add(new Partition("p" + lower.format(NAME_FORMAT), upper));
+            lower = upper;
+            upper = step.next(upper);
+        }
+        return planned;
+    }
+
+    /** Partitions whose every row is older than {@code cutoff}; p_history and p_future stay. */
+    static List<String> expired(List<Partition> existing, LocalDate cutoff) {
+        return existing.stream()
+                .filter(p -> p.upper() != null && !HISTORY.equals(p.name()) && !p.upper().isAfter(cutoff))
+                .map(Partition::name)
+                .toList();
+    }
+
+    static String reorganizeSql(String table, List<Partition> planned) {
+        return "ALTER TABLE " + table + " REORGANIZE PARTITION " + FUTURE + " INTO ("
+                + planned.stream()
+                        .map(p -> "PARTITION " + p.name() + " VALUES LESS THAN ('" + p.upper() + " 00:00:00')")
+                        .collect(Collectors.joining(", "))
+                + ", PARTITION " + FUTURE + " VALUES LESS THAN (MAXVALUE))";
+    }
+
+    private List<Partition> partitions(String table) {
+        return jdbcTemplate.query("SELECT partition_name, partition_description FROM information_schema.partitions "
+                + "WHERE table_schema = DATABASE() AND table_name = ? AND partition_name IS NOT NULL "
+                + "ORDER BY partition_ordinal_position",
+                (rs, i) -> new Partition(rs.getString(1), upperBound(rs.getString(2))), table);
+    }
+
+    // partition_description is the quoted bound, e.g. '2026-10-19 00:00:00', or MAXVALUE
+    private static LocalDate upperBound(String description) {
+        if (description == null || description.equalsIgnoreCase("MAXVALUE")) {
+            return null;
+        }
+        return LocalDate.parse(description.replace("'", "").trim().substring(0, 10));
+    }
+
+    private int create(String table, List<Partition> planned) {
+        if (planned.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.execute(reorganizeSql(table, planned));
+        createdCounter.increment(planned.size());
+        return planned.size();
+    }
+
+    private int drop(String table, List<String> names) {
+        if (names.isEmpty()) {
+            return 0;
+        }
+        // Counted first: once the partition is gone there is nothing left to count
+        List<Object[]> removed = table.equals("alert") ? countAlerts(names) : List.of();
+        jdbcTemplate.execute("ALTER TABLE " + table + " DROP PARTITION " + String.join(", ", names));
+        transactionTemplate.executeWithoutResult(tx -> removed.forEach(row -> alertCounters.removed(
+                (String) row[0], (Severity) row[1], (AlertStatus) row[2], (Long) row[3])));
+        droppedCounter.increment(names.size());
+        return names.size();
+    }
+
+    private List<Object[]> countAlerts(List<String> names) {
+        return jdbcTemplate.query("SELECT source_type, severity, status, COUNT(*) FROM alert PARTITION ("
+                + String.join(", ", names) + ") WHERE source_type IS NOT NULL AND severity IS NOT NULL "
+                + "AND status IS NOT NULL GROUP BY source_type, severity, status",
+                (rs, i) -> new Object[] { rs.getString(1), Severity.valueOf(rs.getString(2)),
+                        AlertStatus.valueOf(rs.getString(3)), rs.getLong(4) });
+    }
+
+    // The fingerprint guard isn't partitioned, so it is trimmed in chunks to the same retention
+    private long purgeFingerprints(LocalDateTime cutoff) {
+        long total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update("DELETE FROM alert_fingerprint WHERE created_at < ? LIMIT ?",
+                    Timestamp.valueOf(cutoff), fingerprintChunkSize);
+            total += deleted;
+        } while (deleted == fingerprintChunkSize);
+        return total;
+    }
+}
@@ -0,0 +1,101 @@
+package com.moveinsync.alertsystem.job;
+
+import com.moveinsync.alertsystem.service.AlertRollupService;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rebuilds the hourly/daily rollups from the alert table, {@code alert.rollup.backfill.chunk-days}
+ * days per transaction (range scans on idx_timestamp).
+ *
+ * Runs once at startup when the rollups are still empty, and on demand through
+ * {@code POST /api/admin/config/rollups/backfill}.
+ */
+@Component
+public class RollupBackfillJob {
+
+    private static final Logger log = LoggerFactory.getLogger(RollupBackfillJob.class);
+
+    @Value("${alert.rollup.backfill.chunk-days:1}")
+    private int chunkDays;
+
+    @Value("${alert.rollup.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    private final AlertRollupService rollupService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // EntityManagerFactory is injected only so the schema update has created the rollup tables first
+    public RollupBackfillJob(AlertRollupService rollupService,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            EntityManagerFactory entityManagerFactory) {
+        this.rollupService = rollupService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void backfillIfEmpty() {
+        try {
+            Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM alert_rollup_daily", Integer.class);
+            if (backfillOnStartup && rows != null && rows == 0) {
+                backfill(null, null);
+            }
+        } catch (Exception e) {
+            log.warn("Rollup backfill on startup skipped: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuilds {@code [from, to]} (whole days). Defaults to the oldest alert's day
+     * through today.
+     */
+    public Map<String, Object> backfill(LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : oldestAlertDay(end);
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+
+        int step = Math.max(chunkDays, 1);
+        long alerts = 0;
+        int chunks = 0;
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(step)) {
+            LocalDateTime chunkStart = day.atStartOfDay();
+            LocalDate next = day.plusDays(step);
+            LocalDate chunkEnd = next.isAfter(end) ? end.plusDays(1) : next;
+            Long counted = transactionTemplate.execute(tx -> rollupService.rebuild(chunkStart, chunkEnd.atStartOfDay()));
+            alerts += counted == null ? 0 : counted;
+            chunks++;
+        }
+        log.info("Rollups rebuilt for {} .. {} in {} chunk(s), {} alerts", start, end, chunks, alerts);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("from", start);
+        result.put("to", end);
+        result.put("chunks", chunks);
+        result.put("alerts", alerts);
+        return result;
+    }
+
+    private LocalDate oldestAlertDay(LocalDate fallback) {
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(t) FROM (SELECT MIN(timestamp) t FROM alert " +
+                "UNION ALL SELECT MIN(timestamp) FROM alert_archive) m", Timestamp.class);
+        return oldest == null ? fallback : oldest.toLocalDateTime().toLocalDate();
+    }
+}
@@ -0,0 +1,7 @@
+package com.moveinsync.alertsystem.repository;
+
+import com.moveinsync.alertsystem.entity.AlertArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AlertArchiveRepository extends JpaRepository<AlertArchive, Long> {
+}
@@ -0,0 +1,8 @@
+package com.moveinsync.alertsystem.repository;
+
+import com.moveinsync.alertsystem.entity.AlertCounter;
+import com.moveinsync.alertsystem.entity.AlertCounterKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AlertCounterRepository extends JpaRepository<AlertCounter, AlertCounterKey> {
+}
@@ -0,0 +1,11 @@
+package com.moveinsync.alertsystem.repository;
+
+import com.moveinsync.alertsystem.entity.AlertHistoryArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface AlertHistoryArchiveRepository extends JpaRepository<AlertHistoryArchive, Long> {
+    // Uses idx_history_archive_alert_time
+    List<AlertHistoryArchive> findByAlertIdOrderByTransitionTimeDesc(Long alertId);
+}
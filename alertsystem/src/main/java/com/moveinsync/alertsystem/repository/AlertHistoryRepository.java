@@ -2,9 +2,11 @@ package com.moveinsync.alertsystem.repository;
 
 import com.moveinsync.alertsystem.entity.AlertHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
+
 import java.util.List;
 
 public interface AlertHistoryRepository extends JpaRepository<AlertHistory, Long> {
+    // Uses idx_history_alert_time
     List<AlertHistory> findByAlertIdOrderByTransitionTimeDesc(Long alertId);
     List<AlertHistory> findTop50ByOrderByTransitionTimeDesc();
-}
\ No newline at end of file
+}
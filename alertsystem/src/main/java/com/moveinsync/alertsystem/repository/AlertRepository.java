@@ -1,43 +1,115 @@
 package com.moveinsync.alertsystem.repository;
 
+import com.moveinsync.alertsystem.dto.AlertSummaryDTO;
 import com.moveinsync.alertsystem.entity.Alert;
 import com.moveinsync.alertsystem.entity.AlertStatus;
-import com.moveinsync.alertsystem.entity.Severity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface AlertRepository extends JpaRepository<Alert, Long> {
+public interface AlertRepository extends JpaRepository<Alert, Long>, AlertRepositoryCustom {
 
-    // Rule engine — windowed query; uses composite index idx_source_timestamp
-    List<Alert> findBySourceTypeAndTimestampAfter(String sourceType, LocalDateTime timeLimit);
+    // Rule engine — windowed count; uses composite index idx_source_timestamp
+    long countBySourceTypeAndTimestampAfter(String sourceType, LocalDateTime timeLimit);
 
+    // Per-driver window; uses composite index idx_source_driver_timestamp
+    long countBySourceTypeAndDriverIdAndTimestampAfter(String sourceType, String driverId, LocalDateTime timeLimit);
 
-    @Query(value = "SELECT * FROM alert WHERE source_type = :sourceType " +
-            "AND JSON_UNQUOTE(JSON_EXTRACT(metadata, '$.driverId')) = :driverId " +
-            "AND timestamp > :timeLimit", nativeQuery = true)
-    List<Alert> findBySourceTypeAndDriverIdAndTimestampAfter(
+    // Rule engine warm-up — timestamps only, no metadata
+    @Query("SELECT a.timestamp FROM Alert a WHERE a.sourceType = :sourceType AND a.timestamp > :timeLimit")
+    List<LocalDateTime> findTimestampsBySourceTypeAfter(
             @Param("sourceType") String sourceType,
-            @Param("driverId") String driverId,
             @Param("timeLimit") LocalDateTime timeLimit);
 
-    List<Alert> findByStatusIn(List<AlertStatus> statuses);
+    // Rule engine warm-up — driver/time pairs only, no metadata
+    @Query("SELECT a.driverId, a.timestamp FROM Alert a " +
+            "WHERE a.sourceType = :sourceType AND a.timestamp > :timeLimit AND a.driverId IS NOT NULL")
+    List<Object[]> findDriverTimestampsBySourceTypeAfter(
+            @Param("sourceType") String sourceType,
+            @Param("timeLimit") LocalDateTime timeLimit);
+
+    // Manual resolve — the row stays locked until the resolve commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Alert a WHERE a.alertId = :id")
+    Optional<Alert> findForUpdate(@Param("id") Long id);
+
+    // Ingest de-duplication — uses unique index uk_alert_fingerprint (idx_alert_fingerprint when partitioned)
+    @Query("SELECT a.alertId FROM Alert a WHERE a.fingerprint = :fingerprint")
+    Optional<Long> findIdByFingerprint(@Param("fingerprint") String fingerprint);
+
+    // AutoCloseJob rule pass — keyset chunk of one alertId range (a PK range scan); rows stay locked until the chunk commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Alert a WHERE a.status IN :statuses AND a.sourceType IN :sourceTypes " +
+            "AND a.alertId >= :fromId AND a.alertId < :toId ORDER BY a.alertId")
+    List<Alert> findActiveRangeChunk(@Param("statuses") List<AlertStatus> statuses,
+            @Param("sourceTypes") List<String> sourceTypes,
+            @Param("fromId") Long fromId,
+            @Param("toId") Long toId,
+            Pageable pageable);
+
+    // Bounds the shard and partition ranges are cut from — one row, nulls when nothing is active
+    @Query("SELECT MIN(a.alertId), MAX(a.alertId) FROM Alert a WHERE a.status IN :statuses")
+    List<Object[]> findActiveIdBounds(@Param("statuses") List<AlertStatus> statuses);
+
+    // AutoCloseJob TTL pass — uses idx_status_timestamp; rows stay locked until the chunk commits
+    @Query(value = "SELECT alert_id, status, severity, source_type, driver_id FROM alert WHERE status IN ('OPEN', 'ESCALATED') " +
+            "AND timestamp < :threshold ORDER BY alert_id LIMIT :limit FOR UPDATE", nativeQuery = true)
+    List<Object[]> lockExpiredActive(@Param("threshold") LocalDateTime threshold, @Param("limit") int limit);
+
+    // Same, restricted to one cluster shard's alertId range
+    @Query(value = "SELECT alert_id, status, severity, source_type, driver_id FROM alert WHERE status IN ('OPEN', 'ESCALATED') " +
+            "AND timestamp < :threshold AND alert_id >= :fromId AND alert_id < :toId " +
+            "ORDER BY alert_id LIMIT :limit FOR UPDATE", nativeQuery = true)
+    List<Object[]> lockExpiredActiveInRange(@Param("threshold") LocalDateTime threshold,
+            @Param("fromId") long fromId,
+            @Param("toId") long toId,
+            @Param("limit") int limit);
+
+    // ExpiryScheduler — locks the due alerts that are still active
+    @Query(value = "SELECT alert_id, status, severity, source_type, driver_id FROM alert WHERE alert_id IN (:ids) " +
+            "AND status IN ('OPEN', 'ESCALATED') FOR UPDATE", nativeQuery = true)
+    List<Object[]> lockActiveByIds(@Param("ids") List<Long> ids);
 
-    // Dashboard queries — uses idx_status index
-    long countBySeverity(Severity severity);
+    // ExpiryScheduler refill — active alerts ingested before :before in one alertId range, on idx_status_timestamp;
+    // keyset chunk of (alertId, timestamp) pairs after the (afterTime, afterId) cursor
+    @Query("SELECT a.alertId, a.timestamp FROM Alert a WHERE a.status IN :statuses AND a.timestamp < :before " +
+            "AND (a.timestamp > :afterTime OR (a.timestamp = :afterTime AND a.alertId > :afterId)) " +
+            "AND a.alertId >= :fromId AND a.alertId < :toId ORDER BY a.timestamp, a.alertId")
+    List<Object[]> findActiveDueChunk(@Param("statuses") List<AlertStatus> statuses,
+            @Param("afterTime") LocalDateTime afterTime,
+            @Param("afterId") Long afterId,
+            @Param("before") LocalDateTime before,
+            @Param("fromId") Long fromId,
+            @Param("toId") Long toId,
+            Pageable pageable);
 
-    List<Alert> findByStatus(AlertStatus status);
+    @Modifying
+    @Query("UPDATE Alert a SET a.status = :newStatus WHERE a.alertId IN :ids AND a.status IN :fromStatuses")
+    int closeActive(@Param("ids") List<Long> ids,
+            @Param("newStatus") AlertStatus newStatus,
+            @Param("fromStatuses") List<AlertStatus> fromStatuses);
 
-    List<Alert> findTop10ByStatusOrderByTimestampDesc(AlertStatus status);
+    // Driver leaderboard resync — (sourceType, driverId, count) of active alerts
+    @Query("SELECT a.sourceType, a.driverId, COUNT(a) FROM Alert a WHERE a.status IN :statuses " +
+            "AND a.driverId IS NOT NULL GROUP BY a.sourceType, a.driverId")
+    List<Object[]> countActiveBySourceTypeAndDriver(@Param("statuses") List<AlertStatus> statuses);
 
-    List<Alert> findByStatusAndTimestampAfterOrderByTimestampDesc(AlertStatus status, LocalDateTime timeLimit);
+    // List views — summary projections, metadata is never selected
+    @Query(value = "SELECT new com.moveinsync.alertsystem.dto.AlertSummaryDTO(" +
+            "a.alertId, a.sourceType, a.driverId, a.severity, a.status, a.timestamp) FROM Alert a",
+            countQuery = "SELECT COUNT(a) FROM Alert a")
+    Page<AlertSummaryDTO> findAllSummaries(Pageable pageable);
 
-    // Trend chart query
-    @Query("SELECT DATE(a.timestamp) as date, COUNT(a) as count FROM Alert a GROUP BY DATE(a.timestamp)")
-    List<Object[]> countAlertsByDate();
+    List<AlertSummaryDTO> findByStatusAndTimestampAfterOrderByTimestampDesc(AlertStatus status, LocalDateTime timeLimit);
 }
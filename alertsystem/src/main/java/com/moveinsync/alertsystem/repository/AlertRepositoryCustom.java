@@ -0,0 +1,16 @@
+package com.moveinsync.alertsystem.repository;
+
+import com.moveinsync.alertsystem.dto.AlertCursor;
+import com.moveinsync.alertsystem.dto.AlertFilterDTO;
+import com.moveinsync.alertsystem.dto.AlertSummaryDTO;
+
+import java.util.List;
+
+// Dynamic-filter queries that derived query methods can't express
+public interface AlertRepositoryCustom {
+
+    // Up to 'limit' alerts matching the filter, strictly after 'after' (null for the first page)
+    List<AlertSummaryDTO> findSliceAfter(AlertFilterDTO filter, AlertCursor after, int limit);
+
+    long countMatching(AlertFilterDTO filter);
+}
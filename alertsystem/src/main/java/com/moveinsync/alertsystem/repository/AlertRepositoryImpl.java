@@ -0,0 +1,82 @@
+package com.moveinsync.alertsystem.repository;
+
+import com.moveinsync.alertsystem.dto.AlertCursor;
+import com.moveinsync.alertsystem.dto.AlertFilterDTO;
+import com.moveinsync.alertsystem.dto.AlertSummaryDTO;
+import com.moveinsync.alertsystem.entity.Alert;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyset listing over {@code (timestamp DESC, alertId DESC)}. Each filter is an
+ * equality on the leading column of an index that continues with timestamp
+ * (idx_status_timestamp, idx_severity_timestamp, idx_source_timestamp,
+ * idx_driver_timestamp, or idx_timestamp without filters); InnoDB appends the
+ * primary key, so the cursor predicate is a range seek with no sort and no offset.
+ */
+public class AlertRepositoryImpl implements AlertRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AlertSummaryDTO> findSliceAfter(AlertFilterDTO filter, AlertCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AlertSummaryDTO> query = cb.createQuery(AlertSummaryDTO.class);
+        Root<Alert> alert = query.from(Alert.class);
+        query.select(cb.construct(AlertSummaryDTO.class, alert.get("alertId"), alert.get("sourceType"),
+                alert.get("driverId"), alert.get("severity"), alert.get("status"), alert.get("timestamp")));
+
+        List<Predicate> predicates = filterPredicates(cb, alert, filter);
+        if (after != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(alert.<LocalDateTime>get("timestamp"), after.timestamp()),
+                    cb.and(cb.equal(alert.get("timestamp"), after.timestamp()),
+                            cb.lessThan(alert.<Long>get("alertId"), after.alertId()))));
+        }
+        query.where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(alert.get("timestamp")), cb.desc(alert.get("alertId")));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public long countMatching(AlertFilterDTO filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Alert> alert = query.from(Alert.class);
+        query.select(cb.count(alert)).where(filterPredicates(cb, alert, filter).toArray(new Predicate[0]));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static List<Predicate> filterPredicates(CriteriaBuilder cb, Root<Alert> alert, AlertFilterDTO filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getStatus() != null && !filter.getStatus().isEmpty()) {
+            predicates.add(alert.get("status").in(filter.getStatus()));
+        }
+        if (filter.getSeverity() != null && !filter.getSeverity().isEmpty()) {
+            predicates.add(alert.get("severity").in(filter.getSeverity()));
+        }
+        if (filter.getSourceType() != null) {
+            predicates.add(cb.equal(alert.get("sourceType"), filter.getSourceType()));
+        }
+        if (filter.getDriverId() != null) {
+            predicates.add(cb.equal(alert.get("driverId"), filter.getDriverId()));
+        }
+        if (filter.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(alert.<LocalDateTime>get("timestamp"), filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            predicates.add(cb.lessThan(alert.<LocalDateTime>get("timestamp"), filter.getTo()));
+        }
+        return predicates;
+    }
+}
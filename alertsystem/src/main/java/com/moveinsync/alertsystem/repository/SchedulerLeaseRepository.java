@@ -0,0 +1,43 @@
+package com.moveinsync.alertsystem.repository;
+
+import com.moveinsync.alertsystem.entity.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    // Conditional UPDATE: at most one node sees 1 row affected for an expired lease
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.owner = :owner, l.leaseUntil = :until " +
+            "WHERE l.jobName = :jobName AND (l.owner = :owner OR l.leaseUntil < :now)")
+    int tryAcquire(@Param("jobName") String jobName,
+            @Param("owner") String owner,
+            @Param("now") LocalDateTime now,
+            @Param("until") LocalDateTime until);
+
+    // Only ever lengthens a lease the caller still holds
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.leaseUntil = :until " +
+            "WHERE l.jobName IN :jobNames AND l.owner = :owner AND l.leaseUntil < :until")
+    int extend(@Param("jobNames") List<String> jobNames,
+            @Param("owner") String owner,
+            @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.lastRunOwner = :owner, l.lastRunStartedAt = :startedAt, " +
+            "l.lastRunFinishedAt = :finishedAt, l.lastRunSummary = :summary WHERE l.jobName = :jobName")
+    int recordRun(@Param("jobName") String jobName,
+            @Param("owner") String owner,
+            @Param("startedAt") LocalDateTime startedAt,
+            @Param("finishedAt") LocalDateTime finishedAt,
+            @Param("summary") String summary);
+
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.leaseUntil = :now WHERE l.owner = :owner AND l.leaseUntil > :now")
+    int releaseAll(@Param("owner") String owner, @Param("now") LocalDateTime now);
+}
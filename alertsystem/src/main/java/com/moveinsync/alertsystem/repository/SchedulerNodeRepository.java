@@ -0,0 +1,21 @@
+package com.moveinsync.alertsystem.repository;
+
+import com.moveinsync.alertsystem.entity.SchedulerNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SchedulerNodeRepository extends JpaRepository<SchedulerNode, String> {
+
+    // Sorted, so every node derives the same shard index from the same membership
+    @Query("SELECT n.nodeId FROM SchedulerNode n WHERE n.heartbeatAt > :after ORDER BY n.nodeId")
+    List<String> findLiveNodeIds(@Param("after") LocalDateTime after);
+
+    @Modifying
+    @Query("DELETE FROM SchedulerNode n WHERE n.heartbeatAt < :before")
+    int deleteStale(@Param("before") LocalDateTime before);
+}
@@ -1,29 +1,70 @@
 package com.moveinsync.alertsystem.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * Authenticates Bearer tokens. A token is parsed and verified once; the resulting
+ * principal is then cached until the token's {@code exp} (or {@code jwt.cache.ttl-ms},
+ * whichever comes first, so account changes still take effect), and repeat requests
+ * with the same token skip both the HMAC check and the user lookup.
+ *
+ * The cache is a {@link ConcurrentHashMap}, so lookups from concurrent requests never
+ * serialise on one lock. When it grows past {@code jwt.cache.max-size}, one request
+ * sweeps out the expired tokens, then arbitrary ones until it is back under the cap.
+ */
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtRequestFilter.class);
+
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final long cacheTtlMs;
+    private final int cacheMaxSize;
+    private final Map<String, VerifiedToken> verified = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
 
-    public JwtRequestFilter(JwtUtil jwtUtil,@Lazy UserDetailsService userDetailsService) {
+    public JwtRequestFilter(JwtUtil jwtUtil, @Lazy UserDetailsService userDetailsService,
+            MeterRegistry meterRegistry,
+            @Value("${jwt.cache.max-size:10000}") int cacheMaxSize,
+            @Value("${jwt.cache.ttl-ms:300000}") long cacheTtlMs) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.cacheTtlMs = cacheTtlMs;
+        this.cacheMaxSize = Math.max(cacheMaxSize, 1);
+        this.cacheHits = Counter.builder("jwt.cache.requests").tag("result", "hit")
+                .description("Bearer token lookups in the verified-token cache")
+                .register(meterRegistry);
+        this.cacheMisses = Counter.builder("jwt.cache.requests").tag("result", "miss")
+                .description("Bearer token lookups in the verified-token cache")
+                .register(meterRegistry);
     }
 
     @Override
@@ -32,24 +73,11 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
-
         // Check if header has the Bearer token
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            try {
-                username = jwtUtil.extractUsername(jwt);
-            } catch (Exception e) {
-                System.out.println("Invalid or expired JWT Token");
-            }
-        }
-
-        // Validate the token and set the security context
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = authenticate(authorizationHeader.substring(7));
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -58,4 +86,56 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         }
         chain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    // Principal for a valid token, or null; only a cache miss pays for verification and lookup
+    UserDetails authenticate(String jwt) {
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verified.get(jwt);
+        if (cached != null) {
+            if (cached.validUntilMs() > now) {
+                cacheHits.increment();
+                return cached.userDetails();
+            }
+            verified.remove(jwt, cached);
+        }
+        cacheMisses.increment();
+
+        try {
+            Claims claims = jwtUtil.parseClaims(jwt);
+            UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+            long validUntil = now + cacheTtlMs;
+            if (claims.getExpiration() != null) {
+                validUntil = Math.min(validUntil, claims.getExpiration().getTime());
+            }
+            verified.put(jwt, new VerifiedToken(userDetails, validUntil));
+            if (verified.size() > cacheMaxSize) {
+                evict(now);
+            }
+            return userDetails;
+        } catch (JwtException | IllegalArgumentException | UsernameNotFoundException e) {
+            log.debug("Rejected JWT: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // Expired tokens first, then arbitrary ones down to 90% of the cap; one sweeper at a time
+    private void evict(long now) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            verified.values().removeIf(token -> token.validUntilMs() <= now);
+            Iterator<String> tokens = verified.keySet().iterator();
+            int target = cacheMaxSize - cacheMaxSize / 10;
+            while (verified.size() > target && tokens.hasNext()) {
+                tokens.next();
+                tokens.remove();
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private record VerifiedToken(UserDetails userDetails, long validUntilMs) {
+    }
+}
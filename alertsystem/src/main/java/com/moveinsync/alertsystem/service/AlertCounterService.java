@@ -0,0 +1,183 @@
+package com.moveinsync.alertsystem.service;
+
+import com.moveinsync.alertsystem.entity.Alert;
+import com.moveinsync.alertsystem.entity.AlertCounter;
+import com.moveinsync.alertsystem.entity.AlertCounterKey;
+import com.moveinsync.alertsystem.entity.AlertStatus;
+import com.moveinsync.alertsystem.entity.Severity;
+import com.moveinsync.alertsystem.job.ClusterCoordinator;
+import com.moveinsync.alertsystem.repository.AlertCounterRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Alert counts per (severity, status, sourceType), maintained incrementally so the
+ * dashboard never has to COUNT(*) the alert table.
+ *
+ * Every state change calls {@link #created} or {@link #transitioned}. Inside a
+ * transaction the deltas are summed per key and upserted into {@code alert_counter}
+ * just before commit, in key order so concurrent writers can't deadlock, and added to
+ * the in-memory {@link LongAdder}s only once the commit succeeded. Reads never touch
+ * the database.
+ *
+ * The in-memory view is reloaded from the table every {@code alert.counters.refresh-ms}
+ * to pick up other replicas' changes, and one replica rebuilds the table from the base
+ * table every {@code alert.counters.reconcile-ms} to correct any drift. Archived alerts
+ * keep counting until {@link #removed} drops them at purge.
+ */
+@Service
+public class AlertCounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertCounterService.class);
+
+    static final String RECONCILE_JOB = "alertCounterReconcile";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO alert_counter (severity, status, source_type, alert_count) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE alert_count = alert_count + VALUES(alert_count)";
+
+    private static final String REBUILD_SQL =
+            "INSERT INTO alert_counter (severity, status, source_type, alert_count) " +
+            "SELECT severity, status, source_type, COUNT(*) FROM (" +
+            "SELECT severity, status, source_type FROM alert " +
+            "UNION ALL SELECT severity, status, source_type FROM alert_archive) a " +
+            "WHERE severity IS NOT NULL AND status IS NOT NULL AND source_type IS NOT NULL " +
+            "GROUP BY severity, status, source_type";
+
+    private static final Comparator<AlertCounterKey> KEY_ORDER = Comparator
+            .comparing(AlertCounterKey::getSeverity)
+            .thenComparing(AlertCounterKey::getStatus)
+            .thenComparing(AlertCounterKey::getSourceType);
+
+    private final AlertCounterRepository counterRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ClusterCoordinator clusterCoordinator;
+
+    private final TransactionalDeltas<AlertCounterKey> deltas = new TransactionalDeltas<>(this::write, this::publish);
+    private volatile Map<AlertCounterKey, LongAdder> counters = new ConcurrentHashMap<>();
+
+    @Value("${alert.counters.reconcile-ms:3600000}")
+    private long reconcileMs;
+
+    public AlertCounterService(AlertCounterRepository counterRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ClusterCoordinator clusterCoordinator) {
+        this.counterRepository = counterRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clusterCoordinator = clusterCoordinator;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (counterRepository.count() == 0) {
+            rebuild();
+        }
+        refresh();
+    }
+
+    public void created(Alert alert) {
+        add(new AlertCounterKey(alert.getSeverity(), alert.getStatus(), alert.getSourceType()), 1);
+    }
+
+    public void transitioned(String sourceType, Severity fromSeverity, AlertStatus fromStatus,
+            Severity toSeverity, AlertStatus toStatus) {
+        if (fromSeverity == toSeverity && fromStatus == toStatus) {
+            return;
+        }
+        add(new AlertCounterKey(fromSeverity, fromStatus, sourceType), -1);
+        add(new AlertCounterKey(toSeverity, toStatus, sourceType), 1);
+    }
+
+    // Alerts deleted for good (see AlertArchiveJob, PartitionMaintenanceJob)
+    public void removed(String sourceType, Severity severity, AlertStatus status, long count) {
+        add(new AlertCounterKey(severity, status, sourceType), -count);
+    }
+
+    // Alerts per severity across all statuses and source types
+    public Map<Severity, Long> countBySeverity() {
+        Map<Severity, Long> totals = new EnumMap<>(Severity.class);
+        for (Severity severity : Severity.values()) {
+            totals.put(severity, 0L);
+        }
+        counters.forEach((key, count) -> totals.merge(key.getSeverity(), count.sum(), Long::sum));
+        return totals;
+    }
+
+    // A local commit landing between the read and the swap is missing until the next refresh
+    @Scheduled(fixedDelayString = "${alert.counters.refresh-ms:5000}")
+    public void refresh() {
+        Map<AlertCounterKey, LongAdder> loaded = new ConcurrentHashMap<>();
+        for (AlertCounter counter : counterRepository.findAll()) {
+            LongAdder adder = new LongAdder();
+            adder.add(counter.getAlertCount());
+            loaded.put(counter.getId(), adder);
+        }
+        counters = loaded;
+    }
+
+    @Scheduled(fixedDelayString = "${alert.counters.reconcile-ms:3600000}",
+            initialDelayString = "${alert.counters.reconcile-ms:3600000}")
+    public void reconcile() {
+        if (!clusterCoordinator.tryAcquire(RECONCILE_JOB, Duration.ofMillis(reconcileMs * 9 / 10))) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        int rows = rebuild();
+        clusterCoordinator.finish(RECONCILE_JOB, startedAt, "rebuilt " + rows + " counter rows");
+        refresh();
+    }
+
+    // Replaces the table with a fresh GROUP BY; concurrent upserts wait on its locks and apply after
+    private int rebuild() {
+        Integer rows = transactionTemplate.execute(tx -> {
+            jdbcTemplate.update("DELETE FROM alert_counter");
+            return jdbcTemplate.update(REBUILD_SQL);
+        });
+        log.info("Alert counters rebuilt from the alert and archive tables ({} rows)", rows);
+        return rows;
+    }
+
+    private void add(AlertCounterKey key, long delta) {
+        deltas.add(key, delta);
+    }
+
+    private void write(Map<AlertCounterKey, Long> deltas) {
+        Map<AlertCounterKey, Long> ordered = new TreeMap<>(KEY_ORDER);
+        ordered.putAll(deltas);
+        List<Object[]> args = new ArrayList<>(ordered.size());
+        ordered.forEach((key, delta) -> {
+            if (delta != 0) {
+                args.add(new Object[] { key.getSeverity().name(), key.getStatus().name(), key.getSourceType(), delta });
+            }
+        });
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, args);
+        }
+    }
+
+    private void publish(Map<AlertCounterKey, Long> deltas) {
+        Map<AlertCounterKey, LongAdder> current = counters;
+        deltas.forEach((key, delta) -> current.computeIfAbsent(key, k -> new LongAdder()).add(delta));
+    }
+}
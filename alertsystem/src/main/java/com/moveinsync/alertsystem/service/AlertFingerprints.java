@@ -0,0 +1,239 @@
+package com.moveinsync.alertsystem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.moveinsync.alertsystem.dto.AlertMetadata;
+import com.moveinsync.alertsystem.dto.AlertRequestDTO;
+import com.moveinsync.alertsystem.repository.AlertRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Content fingerprints for ingest de-duplication, so a gateway retry of the same
+ * event is dropped instead of stored (and counted by the rules) twice.
+ *
+ * A fingerprint is the SHA-256 of the sourceType plus either the caller's
+ * idempotency key or the canonicalised metadata (keys sorted at every level). The
+ * metadata only identifies an event when it carries the event's own
+ * {@code eventTime}/{@code timestamp}; without one (and without a key) two identical
+ * payloads may well be two real violations, so the alert gets no fingerprint and is
+ * never de-duplicated. Arrival time is not a stand-in: genuine repeats a few minutes
+ * apart are exactly what {@code escalate_if_count} has to see.
+ *
+ * Recent fingerprints are checked in memory: an LRU of the last
+ * {@code alert.dedup.recent-size} fingerprints with their alert ids, in front of a
+ * two-generation bloom filter that remembers roughly ten times as many. A new alert
+ * misses the bloom filter and never touches the database; only a bloom hit that the
+ * LRU can't resolve looks the fingerprint up through its unique index. That unique
+ * index is also the final arbiter for concurrent or cross-replica duplicates.
+ *
+ * With {@code alert.schema.partitioned} the alert table can't carry a unique index
+ * that leaves out the partition column, so the fingerprint is also claimed in the
+ * unpartitioned {@code alert_fingerprint} table, in the ingest transaction, and that
+ * primary key is the arbiter instead.
+ */
+@Component
+public class AlertFingerprints {
+
+    public record Fingerprint(String value) {
+    }
+
+    private final AlertRepository alertRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final MetadataParser metadataParser;
+    private final ObjectWriter canonicalWriter;
+    private final int recentSize;
+    private final int bloomCapacity;
+
+    private final Map<String, Long> recent;
+    // Fingerprint -> alert id; claimed before commit, remembered after it
+    private final TransactionalDeltas<String> stored = new TransactionalDeltas<>(this::claim, this::rememberAll);
+    // Indexed by LookupResult ordinal
+    private final Counter[] lookups;
+    private long[] bloom;
+    private long[] previousBloom;
+    private int bloomCount;
+
+    @Value("${alert.dedup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${alert.schema.partitioned:false}")
+    private boolean partitioned;
+
+    public AlertFingerprints(AlertRepository alertRepository,
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            MetadataParser metadataParser,
+            MeterRegistry meterRegistry,
+            @Value("${alert.dedup.recent-size:100000}") int recentSize) {
+        this.alertRepository = alertRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.metadataParser = metadataParser;
+        this.canonicalWriter = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        this.recentSize = recentSize;
+        this.bloomCapacity = recentSize * 10;
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > AlertFingerprints.this.recentSize;
+            }
+        };
+        // ~10 bits per entry with 7 probes: about 1% false positives per generation
+        this.bloom = new long[Math.max(1, bloomCapacity * 10 / 64)];
+        this.previousBloom = new long[bloom.length];
+        this.lookups = new Counter[LookupResult.values().length];
+        for (LookupResult result : LookupResult.values()) {
+            lookups[result.ordinal()] = Counter.builder("alert.dedup.lookups")
+                    .description("Fingerprint lookups by where they were answered")
+                    .tag("result", result.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+    }
+
+    private enum LookupResult { BLOOM_MISS, LRU_HIT, DB_HIT, DB_MISS }
+
+    /**
+     * Null when de-duplication is off, the alert has neither an idempotency key nor an
+     * event time, or the metadata can't be parsed (validation rejects it later).
+     */
+    public Fingerprint of(AlertRequestDTO dto) {
+        if (!enabled) {
+            return null;
+        }
+        String prefix = dto.getSourceType() + "\n";
+        String key = dto.getIdempotencyKey();
+        if (key != null && !key.isBlank()) {
+            return new Fingerprint(sha256(prefix + "key:" + key));
+        }
+        AlertMetadata metadata = metadataParser.parse(dto);
+        if (metadata == null || !metadata.hasEventTime()) {
+            return null;
+        }
+        String canonical;
+        try {
+            canonical = canonicalWriter.writeValueAsString(objectMapper.treeToValue(metadata.json(), Object.class));
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            return null;
+        }
+        return new Fingerprint(sha256(prefix + canonical));
+    }
+
+    /** Id of the alert already stored under this fingerprint, or null for a new one. */
+    public Long findDuplicate(Fingerprint fingerprint) {
+        return find(fingerprint.value());
+    }
+
+    /** Remembers a stored alert once its transaction commits. */
+    public void rememberAfterCommit(String fingerprint, Long alertId) {
+        // Fingerprints are unique within a transaction, so each "delta" is just the alert id
+        stored.add(fingerprint, alertId);
+    }
+
+    // Partitioned schema only; a duplicate key here rolls the ingest back like the unique index would
+    private void claim(Map<String, Long> alerts) {
+        if (!partitioned || alerts.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(alerts.size());
+        alerts.forEach((fingerprint, alertId) -> args.add(new Object[] { fingerprint, alertId, now }));
+        jdbcTemplate.batchUpdate("INSERT INTO alert_fingerprint (fingerprint, alert_id, created_at) VALUES (?, ?, ?)",
+                args);
+    }
+
+    private void rememberAll(Map<String, Long> alerts) {
+        alerts.forEach(this::remember);
+    }
+
+    private Long find(String fingerprint) {
+        synchronized (this) {
+            if (!mightContain(fingerprint)) {
+                lookups[LookupResult.BLOOM_MISS.ordinal()].increment();
+                return null;
+            }
+            Long alertId = recent.get(fingerprint);
+            if (alertId != null) {
+                lookups[LookupResult.LRU_HIT.ordinal()].increment();
+                return alertId;
+            }
+        }
+        // Bloom hit the LRU has forgotten (or a false positive): ask the unique index
+        Long alertId = alertRepository.findIdByFingerprint(fingerprint).orElse(null);
+        if (alertId != null) {
+            lookups[LookupResult.DB_HIT.ordinal()].increment();
+            remember(fingerprint, alertId);
+        } else {
+            lookups[LookupResult.DB_MISS.ordinal()].increment();
+        }
+        return alertId;
+    }
+
+    synchronized void remember(String fingerprint, Long alertId) {
+        recent.put(fingerprint, alertId);
+        if (bloomCount >= bloomCapacity) {
+            // Age out the oldest generation instead of letting one filter saturate
+            previousBloom = bloom;
+            bloom = new long[previousBloom.length];
+            bloomCount = 0;
+        }
+        long[] hashes = hashes(fingerprint);
+        for (int i = 0; i < 7; i++) {
+            int bit = bit(hashes, i);
+            bloom[bit >>> 6] |= 1L << bit;
+        }
+        bloomCount++;
+    }
+
+    private boolean mightContain(String fingerprint) {
+        long[] hashes = hashes(fingerprint);
+        return contains(bloom, hashes) || contains(previousBloom, hashes);
+    }
+
+    private boolean contains(long[] filter, long[] hashes) {
+        for (int i = 0; i < 7; i++) {
+            int bit = bit(hashes, i);
+            if ((filter[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // The fingerprint is already a uniform hash: two 64-bit slices drive double hashing
+    private static long[] hashes(String fingerprint) {
+        return new long[] { Long.parseUnsignedLong(fingerprint.substring(0, 16), 16),
+                Long.parseUnsignedLong(fingerprint.substring(16, 32), 16) };
+    }
+
+    private int bit(long[] hashes, int i) {
+        return (int) Long.remainderUnsigned(hashes[0] + i * hashes[1], bloom.length * 64L);
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
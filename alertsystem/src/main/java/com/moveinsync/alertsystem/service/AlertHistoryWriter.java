@@ -0,0 +1,85 @@
+package com.moveinsync.alertsystem.service;
+
+import com.moveinsync.alertsystem.entity.AlertHistory;
+import com.moveinsync.alertsystem.repository.AlertHistoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Appender for {@link AlertHistory} that writes each transaction's rows in one go.
+ *
+ * Rows appended inside a transaction are collected and inserted just before it
+ * commits, still inside it, as one JDBC batch (see {@code hibernate.jdbc.batch_size}).
+ * A state change and its history therefore commit or roll back together, and the
+ * history is readable as soon as the change is. Outside a transaction the rows are
+ * inserted straight away in their own.
+ *
+ * This is not write-behind: the INSERT still runs on the committing thread and is part
+ * of its latency. What it saves is one round trip per row. An in-memory queue could
+ * lose transitions on a crash, and a durable outbox would be an insert in the same
+ * transaction anyway; callers that must not wait use the async ingest mode instead.
+ */
+@Service
+public class AlertHistoryWriter {
+
+    private final AlertHistoryRepository historyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter writtenRows;
+
+    public AlertHistoryWriter(AlertHistoryRepository historyRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.historyRepository = historyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.writtenRows = Counter.builder("alert.history.written")
+                .description("Alert history rows inserted")
+                .register(meterRegistry);
+    }
+
+    public void append(AlertHistory history) {
+        appendAll(List.of(history));
+    }
+
+    public void appendAll(List<AlertHistory> histories) {
+        if (histories.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            transactionTemplate.executeWithoutResult(tx -> write(histories));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<AlertHistory> pending = (List<AlertHistory>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<AlertHistory> txPending = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, txPending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    write(txPending);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AlertHistoryWriter.this);
+                }
+            });
+            pending = txPending;
+        }
+        pending.addAll(histories);
+    }
+
+    private void write(List<AlertHistory> histories) {
+        historyRepository.saveAll(histories);
+        writtenRows.increment(histories.size());
+    }
+}
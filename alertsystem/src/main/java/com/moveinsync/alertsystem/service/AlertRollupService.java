@@ -0,0 +1,166 @@
+package com.moveinsync.alertsystem.service;
+
+import com.moveinsync.alertsystem.config.SqlDialect;
+import com.moveinsync.alertsystem.entity.Alert;
+import com.moveinsync.alertsystem.entity.Severity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Hourly and daily alert counts per sourceType and severity, so trend queries read a
+ * few rows per bucket instead of grouping the alert table.
+ *
+ * Ingest adds one to the alert's hour and day; a rule that changes an alert's
+ * severity moves it between severities in its original buckets. Deltas are upserted
+ * in the same transaction as the change (see {@link TransactionalDeltas}).
+ * {@link #rebuild} recomputes a range from the alert and archive tables and backs the
+ * backfill job.
+ */
+@Service
+public class AlertRollupService {
+
+    public enum Granularity {
+        HOURLY("alert_rollup_hourly", ChronoUnit.HOURS),
+        DAILY("alert_rollup_daily", ChronoUnit.DAYS);
+
+        private final String table;
+        private final ChronoUnit unit;
+
+        Granularity(String table, ChronoUnit unit) {
+            this.table = table;
+            this.unit = unit;
+        }
+
+        LocalDateTime bucketOf(LocalDateTime timestamp) {
+            return timestamp.truncatedTo(unit);
+        }
+
+        public static Granularity parse(String value) {
+            for (Granularity granularity : values()) {
+                if (granularity.name().equalsIgnoreCase(value)) {
+                    return granularity;
+                }
+            }
+            throw new IllegalArgumentException("granularity must be 'hourly' or 'daily'");
+        }
+    }
+
+    private record RollupKey(Granularity granularity, LocalDateTime bucketStart, String sourceType, Severity severity) {
+    }
+
+    private static final Comparator<RollupKey> KEY_ORDER = Comparator
+            .comparing(RollupKey::granularity)
+            .thenComparing(RollupKey::bucketStart)
+            .thenComparing(RollupKey::sourceType)
+            .thenComparing(RollupKey::severity);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SqlDialect sqlDialect;
+    private final TransactionalDeltas<RollupKey> deltas = new TransactionalDeltas<>(this::write, d -> { });
+
+    public AlertRollupService(JdbcTemplate jdbcTemplate, SqlDialect sqlDialect) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sqlDialect = sqlDialect;
+    }
+
+    public void created(Alert alert) {
+        add(alert, alert.getSeverity(), 1);
+    }
+
+    // A rule changed the alert's severity after it was counted
+    public void severityChanged(Alert alert, Severity from) {
+        if (from == alert.getSeverity()) {
+            return;
+        }
+        add(alert, from, -1);
+        add(alert, alert.getSeverity(), 1);
+    }
+
+    /**
+     * Alert counts per bucket in {@code [from, to]} (whole days), oldest first. Each
+     * row is {@code [bucket, count]}: a date for daily buckets, a date-time for hourly.
+     * A null bound leaves that side open.
+     */
+    public List<Object[]> trends(LocalDate from, LocalDate to, Granularity granularity) {
+        List<Object> args = new ArrayList<>(2);
+        StringBuilder sql = new StringBuilder("SELECT bucket_start, SUM(alert_count) FROM ")
+                .append(granularity.table).append(" WHERE 1 = 1");
+        if (from != null) {
+            sql.append(" AND bucket_start >= ?");
+            args.add(Timestamp.valueOf(from.atStartOfDay()));
+        }
+        if (to != null) {
+            sql.append(" AND bucket_start < ?");
+            args.add(Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+        }
+        sql.append(" GROUP BY bucket_start ORDER BY bucket_start");
+        return jdbcTemplate.query(sql.toString(), (rs, i) -> {
+            LocalDateTime bucket = rs.getTimestamp(1).toLocalDateTime();
+            return new Object[] { granularity == Granularity.DAILY ? bucket.toLocalDate() : bucket, rs.getLong(2) };
+        }, args.toArray());
+    }
+
+    /**
+     * Recomputes both rollups for {@code [from, to)} from the alert and archive
+     * tables. Meant to run in its own transaction per bounded range; returns the
+     * number of alerts counted.
+     */
+    public long rebuild(LocalDateTime from, LocalDateTime to) {
+        for (Granularity granularity : Granularity.values()) {
+            String bucket = granularity == Granularity.HOURLY
+                    ? sqlDialect.hourBucket("timestamp")
+                    : sqlDialect.dayBucket("timestamp");
+            jdbcTemplate.update("DELETE FROM " + granularity.table + " WHERE bucket_start >= ? AND bucket_start < ?",
+                    Timestamp.valueOf(from), Timestamp.valueOf(to));
+            jdbcTemplate.update("INSERT INTO " + granularity.table +
+                    " (bucket_start, source_type, severity, alert_count) " +
+                    "SELECT " + bucket + ", source_type, severity, COUNT(*) FROM (" +
+                    "SELECT timestamp, source_type, severity FROM alert WHERE timestamp >= ? AND timestamp < ? " +
+                    "UNION ALL SELECT timestamp, source_type, severity FROM alert_archive " +
+                    "WHERE timestamp >= ? AND timestamp < ?) a " +
+                    "WHERE source_type IS NOT NULL AND severity IS NOT NULL " +
+                    "GROUP BY " + bucket + ", source_type, severity",
+                    Timestamp.valueOf(from), Timestamp.valueOf(to), Timestamp.valueOf(from), Timestamp.valueOf(to));
+        }
+        Long counted = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(alert_count), 0) FROM alert_rollup_daily " +
+                "WHERE bucket_start >= ? AND bucket_start < ?", Long.class, Timestamp.valueOf(from), Timestamp.valueOf(to));
+        return counted == null ? 0 : counted;
+    }
+
+    private void add(Alert alert, Severity severity, long delta) {
+        for (Granularity granularity : Granularity.values()) {
+            deltas.add(new RollupKey(granularity, granularity.bucketOf(alert.getTimestamp()),
+                    alert.getSourceType(), severity), delta);
+        }
+    }
+
+    // Key order keeps concurrent writers from deadlocking on the same bucket rows
+    private void write(Map<RollupKey, Long> pending) {
+        Map<RollupKey, Long> ordered = new TreeMap<>(KEY_ORDER);
+        ordered.putAll(pending);
+        for (Granularity granularity : Granularity.values()) {
+            List<Object[]> args = new ArrayList<>();
+            ordered.forEach((key, delta) -> {
+                if (key.granularity() == granularity && delta != 0) {
+                    args.add(new Object[] { Timestamp.valueOf(key.bucketStart()), key.sourceType(),
+                            key.severity().name(), delta });
+                }
+            });
+            if (!args.isEmpty()) {
+                jdbcTemplate.batchUpdate("INSERT INTO " + granularity.table +
+                        " (bucket_start, source_type, severity, alert_count) VALUES (?, ?, ?, ?) " +
+                        "ON DUPLICATE KEY UPDATE alert_count = alert_count + VALUES(alert_count)", args);
+            }
+        }
+    }
+}
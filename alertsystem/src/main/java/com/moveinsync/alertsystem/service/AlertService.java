@@ -1,69 +1,349 @@
 package com.moveinsync.alertsystem.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moveinsync.alertsystem.config.ReplicaReads;
+import com.moveinsync.alertsystem.dto.AlertCursor;
+import com.moveinsync.alertsystem.dto.AlertFilterDTO;
+import com.moveinsync.alertsystem.dto.AlertMetadata;
 import com.moveinsync.alertsystem.dto.AlertRequestDTO;
+import com.moveinsync.alertsystem.dto.AlertSliceDTO;
+import com.moveinsync.alertsystem.dto.AlertSummaryDTO;
+import com.moveinsync.alertsystem.dto.BatchAlertResultDTO;
+import com.moveinsync.alertsystem.dto.BatchIngestResponseDTO;
+import com.moveinsync.alertsystem.dto.DashboardEventDTO;
 import com.moveinsync.alertsystem.entity.*;
-import com.moveinsync.alertsystem.engine.AlertRuleEvaluator;
-import com.moveinsync.alertsystem.engine.RuleConfig;
-import com.moveinsync.alertsystem.entity.AlertHistory;
+import com.moveinsync.alertsystem.exception.DuplicateAlertException;
+import com.moveinsync.alertsystem.engine.RuleEngine;
+import com.moveinsync.alertsystem.engine.RuleMetrics;
+import com.moveinsync.alertsystem.engine.RulePlan;
+import com.moveinsync.alertsystem.engine.RuleSnapshot;
+import com.moveinsync.alertsystem.job.ExpiryScheduler;
+import com.moveinsync.alertsystem.repository.AlertArchiveRepository;
+import com.moveinsync.alertsystem.repository.AlertHistoryArchiveRepository;
 import com.moveinsync.alertsystem.repository.AlertHistoryRepository;
 import com.moveinsync.alertsystem.repository.AlertRepository;
-import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class AlertService {
 
     private static final Logger logger = LoggerFactory.getLogger(AlertService.class);
 
+    private static final String INVALID_METADATA_MESSAGE =
+            "metadata must be a valid JSON object. Example: {\"driverId\": \"DRV-001\", \"speed_kmph\": 95}";
+
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final AlertRepository alertRepository;
-    private final List<AlertRuleEvaluator> evaluators;
+    private final RuleEngine ruleEngine;
     private final AlertHistoryRepository historyRepository;
+    private final AlertArchiveRepository archiveRepository;
+    private final AlertHistoryArchiveRepository historyArchiveRepository;
+    private final AlertHistoryWriter historyWriter;
+    private final Validator validator;
+    private final MetadataParser metadataParser;
+    private final ExpiryScheduler expiryScheduler;
+    private final AlertCounterService alertCounters;
+    private final DriverLeaderboard driverLeaderboard;
+    private final AlertRollupService rollups;
+    private final DashboardStream dashboardStream;
+    private final AlertFingerprints fingerprints;
+    private final IngestMetrics ingestMetrics;
+    private final RuleMetrics ruleMetrics;
+    private final ReplicaReads replicaReads;
+    private final TransactionTemplate transactionTemplate;
 
-    private Map<String, RuleConfig> rulesMap;
+    @Value("${alert.ingest.batch.max-size:500}")
+    private int maxBatchSize;
 
     public AlertService(AlertRepository alertRepository,
-            List<AlertRuleEvaluator> evaluators,
-            AlertHistoryRepository historyRepository) {
+            RuleEngine ruleEngine,
+            AlertHistoryRepository historyRepository,
+            AlertArchiveRepository archiveRepository,
+            AlertHistoryArchiveRepository historyArchiveRepository,
+            AlertHistoryWriter historyWriter,
+            Validator validator,
+            MetadataParser metadataParser,
+            ExpiryScheduler expiryScheduler,
+            AlertCounterService alertCounters,
+            DriverLeaderboard driverLeaderboard,
+            AlertRollupService rollups,
+            DashboardStream dashboardStream,
+            AlertFingerprints fingerprints,
+            IngestMetrics ingestMetrics,
+            RuleMetrics ruleMetrics,
+            ReplicaReads replicaReads,
+            PlatformTransactionManager transactionManager) {
         this.alertRepository = alertRepository;
-        this.evaluators = evaluators;
+        this.ruleEngine = ruleEngine;
         this.historyRepository = historyRepository;
+        this.archiveRepository = archiveRepository;
+        this.historyArchiveRepository = historyArchiveRepository;
+        this.historyWriter = historyWriter;
+        this.validator = validator;
+        this.metadataParser = metadataParser;
+        this.expiryScheduler = expiryScheduler;
+        this.alertCounters = alertCounters;
+        this.driverLeaderboard = driverLeaderboard;
+        this.rollups = rollups;
+        this.dashboardStream = dashboardStream;
+        this.fingerprints = fingerprints;
+        this.ingestMetrics = ingestMetrics;
+        this.ruleMetrics = ruleMetrics;
+        this.replicaReads = replicaReads;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
-    @PostConstruct
-    public void loadRules() throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
-        ClassPathResource resource = new ClassPathResource("rules.json");
-        rulesMap = mapper.readValue(resource.getInputStream(), new TypeReference<>() {
-        });
-        logger.info("Successfully loaded {} alert rules from rules.json", rulesMap.size());
+    /**
+     * Ingests one alert. A repeat of a recently ingested alert (same fingerprint, see
+     * {@link AlertFingerprints}) is dropped before any rule sees it and reported as
+     * {@link DuplicateAlertException} carrying the original alert's id.
+     */
+    public Alert createAlert(AlertRequestDTO dto) {
+        long started = System.nanoTime();
+        // Validate the metadata before anything else; the parsed tree is reused below
+        String metadataError = validateMetadata(dto);
+        if (metadataError != null) {
+            throw new IllegalArgumentException(metadataError);
+        }
+
+        AlertFingerprints.Fingerprint fingerprint = fingerprints.of(dto);
+        Long existing = fingerprint == null ? null : fingerprints.findDuplicate(fingerprint);
+        if (existing != null) {
+            throw new DuplicateAlertException(existing);
+        }
+        // Phase boundary, advanced by insertAlert as it goes
+        long[] lap = { ingestMetrics.record(IngestMetrics.Phase.VALIDATE, started) };
+        try {
+            Alert savedAlert = transactionTemplate.execute(tx -> insertAlert(dto, fingerprint, lap));
+            ingestMetrics.record(IngestMetrics.Phase.COMMIT, lap[0]);
+            return savedAlert;
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent copy (here or on another replica) won the unique fingerprint index
+            existing = fingerprint == null ? null
+                    : alertRepository.findIdByFingerprint(fingerprint.value()).orElse(null);
+            if (existing == null) {
+                throw e;
+            }
+            fingerprints.remember(fingerprint.value(), existing);
+            throw new DuplicateAlertException(existing);
+        }
     }
 
-    @Transactional
-    @CacheEvict(value = "topDrivers", allEntries = true)
-    public Alert createAlert(AlertRequestDTO dto) {
-        // Validate that metadata is valid JSON before anything else
-        if (!dto.isMetadataValidJson()) {
+    private Alert insertAlert(AlertRequestDTO dto, AlertFingerprints.Fingerprint fingerprint, long[] lap) {
+        Alert savedAlert = alertRepository.save(newAlert(dto, fingerprint));
+        lap[0] = ingestMetrics.record(IngestMetrics.Phase.PERSIST, lap[0]);
+
+        RulePlan plan = ruleEngine.planFor(savedAlert.getSourceType());
+        if (plan != null) {
+            plan.record(savedAlert);
+            ruleMetrics.evaluate(plan, savedAlert);
+            alertRepository.save(savedAlert);
+        }
+        lap[0] = ingestMetrics.record(IngestMetrics.Phase.EVALUATE, lap[0]);
+
+        logHistory(savedAlert.getAlertId(), null, savedAlert.getStatus(), ingestReason(savedAlert));
+        lap[0] = ingestMetrics.record(IngestMetrics.Phase.HISTORY, lap[0]);
+        alertCounters.created(savedAlert);
+        rollups.created(savedAlert);
+        dashboardStream.publishAfterCommit(DashboardEventDTO.created(savedAlert));
+        trackActive(savedAlert);
+        expiryScheduler.scheduleAfterCommit(savedAlert);
+        rememberFingerprint(savedAlert);
+
+        return savedAlert;
+    }
+
+    /**
+     * Ingests a batch of alerts in one transaction.
+     *
+     * Invalid items are rejected individually and reported in the response; the rest
+     * are inserted with a single flush so Hibernate can send them as JDBC batches.
+     * Rules run after that flush, so every alert in the batch is visible to the
+     * windowed counts of the others. History rows are inserted as one batch at commit.
+     *
+     * If a concurrent copy of an item (here or on another replica) wins the unique
+     * fingerprint index, the transaction is retried without that item, which is
+     * reported as a duplicate of the stored alert instead of failing the whole batch.
+     */
+    public BatchIngestResponseDTO createAlerts(List<AlertRequestDTO> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one alert");
+        }
+        if (dtos.size() > maxBatchSize) {
             throw new IllegalArgumentException(
-                    "metadata must be a valid JSON object. Example: {\"driverId\": \"DRV-001\", \"speed_kmph\": 95}");
+                    "Batch of " + dtos.size() + " alerts exceeds the limit of " + maxBatchSize);
+        }
+
+        BatchAlertResultDTO[] results = new BatchAlertResultDTO[dtos.size()];
+        List<Integer> positions = new ArrayList<>(dtos.size());
+        List<AlertFingerprints.Fingerprint> batchPrints = new ArrayList<>(dtos.size());
+        // Repeats within this batch: item position -> position of the first copy
+        Map<String, Integer> batchFingerprints = new HashMap<>();
+        Map<Integer, Integer> repeats = new HashMap<>();
+
+        for (int i = 0; i < dtos.size(); i++) {
+            String error = validate(dtos.get(i));
+            if (error != null) {
+                results[i] = BatchAlertResultDTO.rejected(i, error);
+                continue;
+            }
+            AlertFingerprints.Fingerprint fingerprint = fingerprints.of(dtos.get(i));
+            if (fingerprint != null) {
+                Integer first = batchFingerprints.get(fingerprint.value());
+                if (first != null) {
+                    repeats.put(i, first);
+                    continue;
+                }
+                Long existing = fingerprints.findDuplicate(fingerprint);
+                if (existing != null) {
+                    results[i] = BatchAlertResultDTO.duplicate(i, existing);
+                    continue;
+                }
+                batchFingerprints.put(fingerprint.value(), i);
+            }
+            positions.add(i);
+            batchPrints.add(fingerprint);
+        }
+
+        int accepted;
+        while (true) {
+            try {
+                accepted = transactionTemplate.execute(tx -> insertBatch(dtos, positions, batchPrints, results));
+                break;
+            } catch (DataIntegrityViolationException e) {
+                if (!dropConcurrentDuplicates(positions, batchPrints, results)) {
+                    throw e;
+                }
+            }
+        }
+        repeats.forEach((i, first) -> results[i] = BatchAlertResultDTO.duplicate(i, results[first].getAlertId()));
+
+        BatchIngestResponseDTO response = new BatchIngestResponseDTO();
+        int duplicates = (int) Arrays.stream(results).filter(BatchAlertResultDTO::isDuplicate).count();
+        response.setAccepted(accepted);
+        response.setDuplicates(duplicates);
+        response.setRejected(dtos.size() - accepted - duplicates);
+        response.setResults(Arrays.asList(results));
+        logger.info("Batch ingest: {} accepted, {} duplicate, {} rejected",
+                response.getAccepted(), duplicates, response.getRejected());
+        return response;
+    }
+
+    // One attempt at the batch; entities are rebuilt each time since a rolled-back attempt leaves ids behind
+    private int insertBatch(List<AlertRequestDTO> dtos, List<Integer> positions,
+            List<AlertFingerprints.Fingerprint> batchPrints, BatchAlertResultDTO[] results) {
+        List<Alert> alerts = new ArrayList<>(positions.size());
+        for (int i = 0; i < positions.size(); i++) {
+            alerts.add(newAlert(dtos.get(positions.get(i)), batchPrints.get(i)));
+        }
+        alertRepository.saveAll(alerts);
+        alertRepository.flush();
+
+        // One snapshot for the whole batch, so a concurrent reload can't split it
+        RuleSnapshot rules = ruleEngine.getSnapshot();
+        RulePlan[] plans = new RulePlan[alerts.size()];
+        for (int i = 0; i < alerts.size(); i++) {
+            plans[i] = rules.planFor(alerts.get(i).getSourceType());
+            if (plans[i] != null) {
+                plans[i].record(alerts.get(i));
+            }
+        }
+
+        List<AlertHistory> histories = new ArrayList<>(alerts.size());
+        for (int i = 0; i < alerts.size(); i++) {
+            // Managed entities: rule changes are flushed as batched UPDATEs on commit
+            Alert alert = alerts.get(i);
+            if (plans[i] != null) {
+                ruleMetrics.evaluate(plans[i], alert);
+            }
+            histories.add(newHistory(alert.getAlertId(), null, alert.getStatus(), ingestReason(alert)));
+            alertCounters.created(alert);
+            rollups.created(alert);
+            dashboardStream.publishAfterCommit(DashboardEventDTO.created(alert));
+            trackActive(alert);
+            expiryScheduler.scheduleAfterCommit(alert);
+            rememberFingerprint(alert);
+
+            BatchAlertResultDTO result = new BatchAlertResultDTO();
+            result.setIndex(positions.get(i));
+            result.setAccepted(true);
+            result.setAlertId(alert.getAlertId());
+            result.setSeverity(alert.getSeverity());
+            result.setStatus(alert.getStatus());
+            results[positions.get(i)] = result;
+        }
+        historyWriter.appendAll(histories);
+        return alerts.size();
+    }
+
+    // After a unique-index violation: turns items whose fingerprint is now stored into duplicates
+    private boolean dropConcurrentDuplicates(List<Integer> positions,
+            List<AlertFingerprints.Fingerprint> batchPrints, BatchAlertResultDTO[] results) {
+        boolean dropped = false;
+        for (int i = positions.size() - 1; i >= 0; i--) {
+            AlertFingerprints.Fingerprint fingerprint = batchPrints.get(i);
+            Long existing = fingerprint == null ? null
+                    : alertRepository.findIdByFingerprint(fingerprint.value()).orElse(null);
+            if (existing != null) {
+                fingerprints.remember(fingerprint.value(), existing);
+                results[positions.get(i)] = BatchAlertResultDTO.duplicate(positions.get(i), existing);
+                positions.remove(i);
+                batchPrints.remove(i);
+                dropped = true;
+            }
         }
+        return dropped;
+    }
 
+    // Returns the first validation problem for a batch item, or null if it can be ingested
+    private String validate(AlertRequestDTO dto) {
+        if (dto == null) {
+            return "Alert entry must not be null";
+        }
+        Set<ConstraintViolation<AlertRequestDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+        return validateMetadata(dto);
+    }
+
+    // Valid JSON, with a driverId that fits the driver_id column
+    private String validateMetadata(AlertRequestDTO dto) {
+        AlertMetadata metadata = metadataParser.parse(dto);
+        if (metadata == null) {
+            return INVALID_METADATA_MESSAGE;
+        }
+        if (metadata.driverId() != null && metadata.driverId().length() > Alert.MAX_DRIVER_ID_LENGTH) {
+            return "metadata.driverId must be at most " + Alert.MAX_DRIVER_ID_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    private Alert newAlert(AlertRequestDTO dto, AlertFingerprints.Fingerprint fingerprint) {
         Alert alert = new Alert();
         alert.setSourceType(dto.getSourceType());
+        alert.setFingerprint(fingerprint == null ? null : fingerprint.value());
 
         if ("compliance".equalsIgnoreCase(dto.getSourceType())) {
             alert.setSeverity(Severity.INFO);
@@ -72,33 +352,38 @@ public class AlertService {
         }
 
         alert.setMetadata(dto.getMetadata());
+        AlertMetadata metadata = metadataParser.parse(dto);
+        alert.setParsedMetadata(metadata);
+        alert.setDriverId(metadata == null ? null : metadata.driverId());
         alert.setTimestamp(LocalDateTime.now());
         alert.setStatus(AlertStatus.OPEN);
+        return alert;
+    }
 
-        Alert savedAlert = alertRepository.save(alert);
-
-        String typeKey = savedAlert.getSourceType().toLowerCase();
-        if (rulesMap != null && rulesMap.containsKey(typeKey)) {
-            RuleConfig config = rulesMap.get(typeKey);
-
-            for (AlertRuleEvaluator evaluator : evaluators) {
-                if (evaluator.supports(savedAlert.getSourceType())) {
-                    evaluator.evaluate(savedAlert, config);
-                    alertRepository.save(savedAlert);
-                    break;
-                }
-            }
+    private void rememberFingerprint(Alert alert) {
+        if (alert.getFingerprint() != null) {
+            fingerprints.rememberAfterCommit(alert.getFingerprint(), alert.getAlertId());
         }
+    }
 
+    // Alerts a rule closes on arrival never count toward the leaderboard
+    private void trackActive(Alert alert) {
+        if (alert.getStatus() == AlertStatus.OPEN || alert.getStatus() == AlertStatus.ESCALATED) {
+            driverLeaderboard.opened(alert.getSourceType(), alert.getDriverId());
+        }
+    }
 
-        logHistory(savedAlert.getAlertId(), null, savedAlert.getStatus(),
-                "System Ingested: " + savedAlert.getSourceType() + " (" + savedAlert.getSeverity() + ")");
-
-        return savedAlert;
+    private static String ingestReason(Alert alert) {
+        return "System Ingested: " + alert.getSourceType() + " (" + alert.getSeverity() + ")";
     }
 
+    @Transactional
     public Alert resolveAlert(Long id) {
-        Alert alert = getAlertById(id);
+        // Primary, row locked: a concurrent expiry or rule close either finished first (and is
+        // rejected below) or waits for this one, so the side effects below happen once
+        Alert alert = alertRepository.findForUpdate(id)
+                .or(() -> archiveRepository.findById(id).map(AlertArchive::toAlert))
+                .orElseThrow(() -> notFound(id));
 
         if (alert.getStatus() == AlertStatus.RESOLVED || alert.getStatus() == AlertStatus.AUTO_CLOSED) {
             throw new RuntimeException("Alert #" + id + " is already in a closed state.");
@@ -107,34 +392,86 @@ public class AlertService {
         AlertStatus oldStatus = alert.getStatus();
         alert.setStatus(AlertStatus.RESOLVED);
 
-        logHistory(alert.getAlertId(), oldStatus, AlertStatus.RESOLVED, "Manually resolved via API");
-        return alertRepository.save(alert);
+        Alert resolved = alertRepository.save(alert);
+        logHistory(resolved.getAlertId(), oldStatus, AlertStatus.RESOLVED, "Manually resolved via API");
+        alertCounters.transitioned(resolved.getSourceType(), resolved.getSeverity(), oldStatus,
+                resolved.getSeverity(), AlertStatus.RESOLVED);
+        driverLeaderboard.closed(resolved.getSourceType(), resolved.getDriverId());
+        dashboardStream.publishAfterCommit(DashboardEventDTO.transition(resolved.getAlertId(),
+                resolved.getSourceType(), resolved.getDriverId(), resolved.getSeverity(), oldStatus,
+                AlertStatus.RESOLVED));
+        expiryScheduler.cancel(resolved.getAlertId(), resolved.getTimestamp());
+        return resolved;
     }
 
+    // Read replica when fresh; an alert it hasn't received yet is looked up again on the primary
     public Alert getAlertById(Long id) {
-        return alertRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Alert not found with ID: " + id));
+        return replicaReads.find(() -> findAlert(id)).orElseThrow(() -> notFound(id));
+    }
+
+    // Falls back to the archive for closed alerts AlertArchiveJob has moved out
+    private Optional<Alert> findAlert(Long id) {
+        return alertRepository.findById(id).or(() -> archiveRepository.findById(id).map(AlertArchive::toAlert));
+    }
+
+    private static EntityNotFoundException notFound(Long id) {
+        return new EntityNotFoundException("Alert not found with ID: " + id);
     }
 
     private void logHistory(Long alertId, AlertStatus oldStatus, AlertStatus newStatus, String reason) {
+        historyWriter.append(newHistory(alertId, oldStatus, newStatus, reason));
+    }
+
+    private static AlertHistory newHistory(Long alertId, AlertStatus oldStatus, AlertStatus newStatus, String reason) {
         AlertHistory history = new AlertHistory();
         history.setAlertId(alertId);
         history.setPreviousStatus(oldStatus);
         history.setNewStatus(newStatus);
         history.setTransitionTime(LocalDateTime.now());
         history.setReason(reason);
-        historyRepository.save(history);
+        return history;
     }
 
+    // Stored rows, or the archived rows once the alert moved. Always the primary: a lagging
+    // replica would hide a transition the caller has just made
     public List<AlertHistory> getAlertHistory(Long id) {
-        return historyRepository.findByAlertIdOrderByTransitionTimeDesc(id);
+        List<AlertHistory> histories = new ArrayList<>(historyRepository.findByAlertIdOrderByTransitionTimeDesc(id));
+        if (histories.isEmpty()) {
+            historyArchiveRepository.findByAlertIdOrderByTransitionTimeDesc(id)
+                    .forEach(archived -> histories.add(archived.toHistory()));
+        }
+        return histories;
     }
 
-    public Page<Alert> getAllAlerts(PageRequest pageRequest) {
-        return alertRepository.findAll(pageRequest);
+    public Page<AlertSummaryDTO> getAllAlerts(PageRequest pageRequest) {
+        return replicaReads.read(() -> alertRepository.findAllSummaries(pageRequest));
     }
 
-    public Map<String, RuleConfig> getActiveRules() {
-        return this.rulesMap;
+    /**
+     * Keyset listing, newest first. Fetches one extra row to learn whether another
+     * page exists, so no COUNT runs unless {@code includeTotal} is set.
+     */
+    public AlertSliceDTO searchAlerts(AlertFilterDTO filter, String cursor, int size, boolean includeTotal) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        AlertCursor after = cursor == null || cursor.isBlank() ? null : AlertCursor.decode(cursor);
+
+        List<AlertSummaryDTO> rows = replicaReads.read(() -> alertRepository.findSliceAfter(filter, after, size + 1));
+        boolean hasNext = rows.size() > size;
+        List<AlertSummaryDTO> content = hasNext ? rows.subList(0, size) : rows;
+
+        AlertSliceDTO slice = new AlertSliceDTO();
+        slice.setContent(content);
+        slice.setSize(content.size());
+        slice.setHasNext(hasNext);
+        if (hasNext) {
+            AlertSummaryDTO last = content.get(content.size() - 1);
+            slice.setNextCursor(new AlertCursor(last.getTimestamp(), last.getAlertId()).encode());
+        }
+        if (includeTotal) {
+            slice.setTotalElements(replicaReads.read(() -> alertRepository.countMatching(filter)));
+        }
+        return slice;
     }
 }
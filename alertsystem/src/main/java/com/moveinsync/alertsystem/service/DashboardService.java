@@ -1,94 +1,97 @@
 package com.moveinsync.alertsystem.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.moveinsync.alertsystem.entity.Alert;
+import com.moveinsync.alertsystem.config.ReplicaReads;
+import com.moveinsync.alertsystem.dto.AlertSummaryDTO;
 import com.moveinsync.alertsystem.entity.AlertHistory;
 import com.moveinsync.alertsystem.entity.AlertStatus;
 import com.moveinsync.alertsystem.entity.Severity;
 import com.moveinsync.alertsystem.repository.AlertHistoryRepository;
 import com.moveinsync.alertsystem.repository.AlertRepository;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class DashboardService {
 
     private final AlertRepository alertRepository;
     private final AlertHistoryRepository historyRepository;
+    private final AlertCounterService alertCounters;
+    private final DriverLeaderboard driverLeaderboard;
+    private final AlertRollupService rollups;
+    private final ReplicaReads replicaReads;
 
-    public DashboardService(AlertRepository alertRepository, AlertHistoryRepository historyRepository) {
+    private static final int MAX_HOURLY_DAYS = 31;
+
+    @Value("${alert.leaderboard.top-k:5}")
+    private int topK;
+
+    public DashboardService(AlertRepository alertRepository,
+            AlertHistoryRepository historyRepository,
+            AlertCounterService alertCounters,
+            DriverLeaderboard driverLeaderboard,
+            AlertRollupService rollups,
+            ReplicaReads replicaReads) {
         this.alertRepository = alertRepository;
         this.historyRepository = historyRepository;
+        this.alertCounters = alertCounters;
+        this.driverLeaderboard = driverLeaderboard;
+        this.rollups = rollups;
+        this.replicaReads = replicaReads;
     }
 
-    // 1. Alert counts grouped by severity level
+    // 1. Alert counts grouped by severity level — served from the in-memory counters
     public Map<String, Long> getSeverityCounts() {
+        Map<Severity, Long> totals = alertCounters.countBySeverity();
         Map<String, Long> counts = new LinkedHashMap<>();
-        counts.put("CRITICAL", alertRepository.countBySeverity(Severity.CRITICAL));
-        counts.put("WARNING", alertRepository.countBySeverity(Severity.WARNING));
-        counts.put("INFO", alertRepository.countBySeverity(Severity.INFO));
+        counts.put("CRITICAL", totals.get(Severity.CRITICAL));
+        counts.put("WARNING", totals.get(Severity.WARNING));
+        counts.put("INFO", totals.get(Severity.INFO));
         return counts;
     }
 
 
-    @Cacheable("topDrivers")
-    public List<Map<String, Object>> getTopOffenders() {
-        List<Alert> activeAlerts = alertRepository.findByStatusIn(
-                Arrays.asList(AlertStatus.OPEN, AlertStatus.ESCALATED));
-        ObjectMapper mapper = new ObjectMapper();
-
-        Map<String, Long> driverCounts = activeAlerts.stream()
-                .map(alert -> {
-                    try {
-                        JsonNode node = mapper.readTree(alert.getMetadata());
-                        if (node.has("driverId"))
-                            return node.get("driverId").asText();
-                        if (node.has("driverID"))
-                            return node.get("driverID").asText();
-                        return "Unknown";
-                    } catch (Exception e) {
-                        return "Unknown";
-                    }
-                })
-                .filter(id -> !"Unknown".equals(id))
-                .collect(Collectors.groupingBy(id -> id, Collectors.counting()));
-
-        return driverCounts.entrySet().stream()
-                .sorted((a, b) -> Long.compare(b.getValue(), a.getValue()))
-                .limit(5)
-                .map(e -> {
-                    Map<String, Object> row = new LinkedHashMap<>();
-                    row.put("driverId", e.getKey());
-                    row.put("count", e.getValue());
-                    return row;
-                })
-                .collect(Collectors.toList());
+    // 2. Drivers with the most active alerts, overall or for one sourceType
+    public List<Map<String, Object>> getTopOffenders(String sourceType, Integer limit) {
+        int k = limit == null ? topK : limit;
+        if (k < 1 || k > 100) {
+            throw new IllegalArgumentException("limit must be between 1 and 100");
+        }
+        return driverLeaderboard.top(sourceType, k);
     }
 
-    public List<Alert> getRecentAutoClosed(String filter) {
+    public List<AlertSummaryDTO> getRecentAutoClosed(String filter) {
         LocalDateTime timeLimit = "7d".equalsIgnoreCase(filter)
                 ? LocalDateTime.now().minusDays(7)
                 : LocalDateTime.now().minusHours(24);
-        return alertRepository.findByStatusAndTimestampAfterOrderByTimestampDesc(AlertStatus.AUTO_CLOSED, timeLimit);
+        return replicaReads.read(() -> alertRepository.findByStatusAndTimestampAfterOrderByTimestampDesc(
+                AlertStatus.AUTO_CLOSED, timeLimit));
     }
 
     public List<AlertHistory> getRecentEvents() {
-        return historyRepository.findTop50ByOrderByTransitionTimeDesc();
-    }
-
-    public List<Object[]> getDailyTrends() {
-        return alertRepository.countAlertsByDate();
+        return replicaReads.read(historyRepository::findTop50ByOrderByTransitionTimeDesc);
     }
 
-    @CacheEvict(value = "topDrivers", allEntries = true)
-    @Scheduled(fixedRate = 60000)
-    public void evictTopOffendersCache() {
+    // Served from the rollup tables. Daily defaults to everything, as before; hourly to the last 2 days
+    public List<Object[]> getTrends(LocalDate from, LocalDate to, String granularity) {
+        AlertRollupService.Granularity bucket = AlertRollupService.Granularity.parse(granularity);
+        if (bucket == AlertRollupService.Granularity.DAILY) {
+            if (from != null && to != null && from.isAfter(to)) {
+                throw new IllegalArgumentException("from must not be after to");
+            }
+            return replicaReads.read(() -> rollups.trends(from, to, bucket));
+        }
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(1);
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (start.plusDays(MAX_HOURLY_DAYS).isBefore(end)) {
+            throw new IllegalArgumentException("hourly trends are limited to " + MAX_HOURLY_DAYS + " days");
+        }
+        return replicaReads.read(() -> rollups.trends(start, end, bucket));
     }
 }
\ No newline at end of file
@@ -0,0 +1,286 @@
+package com.moveinsync.alertsystem.service;
+
+import com.moveinsync.alertsystem.dto.DashboardEventDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes dashboard changes to browsers over Server-Sent Events instead of having
+ * every open dashboard poll every endpoint.
+ *
+ * Ingest, resolve and the close jobs publish events after their transaction commits;
+ * publishing only merges into a bounded map and never waits on a client. Events are
+ * coalesced per alert, so an alert that changed several times within one
+ * {@code alert.stream.flush-ms} interval is sent once with its latest state. Each
+ * {@code delta} frame carries those events, the net counter change per
+ * {@code sourceType:status} key and the current severity counts. Alerts beyond
+ * {@code alert.stream.max-pending-events} are dropped and counted in the frame, so
+ * clients know to refetch.
+ *
+ * Each subscriber has its own queue of {@code alert.stream.subscriber-buffer} frames,
+ * drained by one sender task at a time (virtual threads where the runtime has them).
+ * A client whose queue fills up, or whose send has been blocked for longer than
+ * {@code alert.stream.send-timeout-ms}, is evicted: it gets no further frames and its
+ * sender completes the emitter once the stuck write returns, so neither the flush nor
+ * other clients ever wait on it. EventSource-style clients simply reconnect.
+ */
+@Service
+public class DashboardStream {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardStream.class);
+
+    private static final long KEEP_ALIVE_MS = 15_000;
+
+    private final DashboardService dashboardService;
+    private final ExecutorService senders;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // alertId -> latest coalesced event since the last flush; guarded by 'this'
+    private Map<Long, DashboardEventDTO> pending = new LinkedHashMap<>();
+    private long droppedEvents;
+    private volatile long lastFrameAt = System.currentTimeMillis();
+
+    @Value("${alert.stream.max-pending-events:1000}")
+    private int maxPendingEvents;
+
+    @Value("${alert.stream.subscriber-buffer:16}")
+    private int subscriberBuffer;
+
+    @Value("${alert.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${alert.stream.send-timeout-ms:5000}")
+    private long sendTimeoutMs;
+
+    public DashboardStream(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+        this.senders = newSenderExecutor();
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, subscriberBuffer);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        // Initial state, so a client can render without a separate fetch
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("severityCounts", dashboardService.getSeverityCounts());
+        subscriber.offer(SseEmitter.event().name("snapshot").data(snapshot).build());
+        return emitter;
+    }
+
+    // Queued once the surrounding transaction commits; a rolled-back change is never shown
+    public void publishAfterCommit(DashboardEventDTO event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(event);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${alert.stream.flush-ms:1000}")
+    public void flush() {
+        List<DashboardEventDTO> events;
+        long dropped;
+        synchronized (this) {
+            events = new ArrayList<>(pending.values());
+            dropped = droppedEvents;
+            pending = new LinkedHashMap<>();
+            droppedEvents = 0;
+        }
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.stalledSince(now, sendTimeoutMs)) {
+                log.debug("Evicting dashboard stream subscriber blocked in send for over {} ms", sendTimeoutMs);
+                subscriber.evict();
+            }
+        }
+        if (events.isEmpty() && dropped == 0) {
+            if (now - lastFrameAt >= KEEP_ALIVE_MS) {
+                lastFrameAt = now;
+                broadcast(SseEmitter.event().comment("keep-alive"));
+            }
+            return;
+        }
+
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("events", events);
+        frame.put("counterDeltas", counterDeltas(events));
+        frame.put("dropped", dropped);
+        frame.put("severityCounts", dashboardService.getSeverityCounts());
+        lastFrameAt = now;
+        broadcast(SseEmitter.event().name("delta").data(frame));
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(s -> s.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    private synchronized void enqueue(DashboardEventDTO event) {
+        DashboardEventDTO earlier = pending.get(event.getAlertId());
+        if (earlier != null) {
+            pending.put(event.getAlertId(), merge(earlier, event));
+        } else if (pending.size() < maxPendingEvents) {
+            pending.put(event.getAlertId(), event);
+        } else {
+            droppedEvents++;
+        }
+    }
+
+    // One event per alert per interval: the latest state, starting from where the first one started
+    static DashboardEventDTO merge(DashboardEventDTO earlier, DashboardEventDTO later) {
+        if ("created".equals(earlier.getType())) {
+            later.setType("created");
+            later.setPreviousStatus(null);
+        } else {
+            later.setPreviousStatus(earlier.getPreviousStatus());
+        }
+        return later;
+    }
+
+    // Net change per sourceType:status key; keys that cancel out are left out
+    static Map<String, Long> counterDeltas(List<DashboardEventDTO> events) {
+        Map<String, Long> deltas = new TreeMap<>();
+        for (DashboardEventDTO event : events) {
+            if (event.getPreviousStatus() != null) {
+                deltas.merge(event.getSourceType() + ":" + event.getPreviousStatus(), -1L, Long::sum);
+            }
+            deltas.merge(event.getSourceType() + ":" + event.getStatus(), 1L, Long::sum);
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        return deltas;
+    }
+
+    // Built once and shared: SseEventBuilder.build() is not safe to call per subscriber
+    private void broadcast(SseEmitter.SseEventBuilder builder) {
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = builder.build();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(frame);
+        }
+    }
+
+    // Virtual threads where the runtime has them (Java 21+); otherwise a thread per draining subscriber
+    private static ExecutorService newSenderExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> frames;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean evicted = new AtomicBoolean();
+        // When the current send started, 0 while idle
+        private volatile long sendingSince;
+
+        Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.frames = new ArrayBlockingQueue<>(Math.max(capacity, 1));
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+            if (evicted.get()) {
+                return;
+            }
+            if (!frames.offer(frame)) {
+                log.debug("Evicting slow dashboard stream subscriber ({} frames behind)", frames.size());
+                evict();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        boolean stalledSince(long now, long timeoutMs) {
+            long since = sendingSince;
+            return since != 0 && now - since > timeoutMs;
+        }
+
+        // Never completes the emitter here: that would wait behind a blocked send
+        void evict() {
+            if (evicted.compareAndSet(false, true)) {
+                subscribers.remove(this);
+                frames.clear();
+                scheduleDrain();
+            }
+        }
+
+        // At most one drain per subscriber at a time keeps its frames in order
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<ResponseBodyEmitter.DataWithMediaType> frame;
+                while (!evicted.get() && (frame = frames.poll()) != null) {
+                    sendingSince = System.currentTimeMillis();
+                    emitter.send(frame);
+                    sendingSince = 0;
+                }
+                if (evicted.get()) {
+                    emitter.complete();
+                    return;
+                }
+            } catch (IOException | IllegalStateException e) {
+                evicted.set(true);
+                subscribers.remove(this);
+                frames.clear();
+                return;
+            } finally {
+                sendingSince = 0;
+                draining.set(false);
+            }
+            if (!frames.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
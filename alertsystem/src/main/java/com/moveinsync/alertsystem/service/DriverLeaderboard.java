@@ -0,0 +1,176 @@
+package com.moveinsync.alertsystem.service;
+
+import com.moveinsync.alertsystem.entity.AlertStatus;
+import com.moveinsync.alertsystem.repository.AlertRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Active (OPEN/ESCALATED) alert count per driver, overall and per sourceType, kept
+ * ranked as alerts open and close so the top offenders are read in O(K).
+ *
+ * Changes are applied after their transaction commits. Each board keeps only drivers
+ * with at least one active alert, ordered by count, so an update is O(log drivers).
+ * Boards are rebuilt from the alert table on startup and every
+ * {@code alert.leaderboard.resync-ms}, which also brings in other replicas' changes.
+ * Changes that land while the table is being read are applied to the live boards and
+ * also replayed onto the rebuilt ones before they are swapped in, so none is lost.
+ * One whose commit just preceded the read is then counted twice until the next resync.
+ */
+@Service
+public class DriverLeaderboard {
+
+    private static final Logger log = LoggerFactory.getLogger(DriverLeaderboard.class);
+
+    private static final List<AlertStatus> ACTIVE = Arrays.asList(AlertStatus.OPEN, AlertStatus.ESCALATED);
+
+    private final AlertRepository alertRepository;
+
+    // Swapped wholesale on resync
+    private volatile Boards boards = new Boards();
+    // Changes seen since the current resync started reading; null outside a resync. Guarded by 'this'
+    private List<Delta> duringResync;
+
+    public DriverLeaderboard(AlertRepository alertRepository) {
+        this.alertRepository = alertRepository;
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${alert.leaderboard.resync-ms:60000}",
+            initialDelayString = "${alert.leaderboard.resync-ms:60000}")
+    public void resync() {
+        Boards rebuilt = new Boards();
+        synchronized (this) {
+            duringResync = new ArrayList<>();
+        }
+        List<Object[]> rows;
+        try {
+            rows = alertRepository.countActiveBySourceTypeAndDriver(ACTIVE);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                duringResync = null;
+            }
+            throw e;
+        }
+        for (Object[] row : rows) {
+            rebuilt.add((String) row[0], (String) row[1], ((Number) row[2]).longValue());
+        }
+        synchronized (this) {
+            duringResync.forEach(d -> rebuilt.add(d.sourceType(), d.driverId(), d.delta()));
+            duringResync = null;
+            boards = rebuilt;
+        }
+        log.debug("Driver leaderboard resynced ({} driver/sourceType pairs)", rows.size());
+    }
+
+    // An alert became active (ingested OPEN/ESCALATED)
+    public void opened(String sourceType, String driverId) {
+        afterCommit(sourceType, driverId, 1);
+    }
+
+    // An active alert was resolved or auto-closed
+    public void closed(String sourceType, String driverId) {
+        afterCommit(sourceType, driverId, -1);
+    }
+
+    /**
+     * Top {@code k} drivers by active alerts, across all sourceTypes when
+     * {@code sourceType} is null. Each row is {@code {driverId, count}}.
+     */
+    public List<Map<String, Object>> top(String sourceType, int k) {
+        Board board = sourceType == null ? boards.overall : boards.bySourceType.get(sourceType.toLowerCase());
+        return board == null ? List.of() : board.top(k);
+    }
+
+    private void afterCommit(String sourceType, String driverId, long delta) {
+        if (driverId == null || sourceType == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(sourceType, driverId, delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(sourceType, driverId, delta);
+            }
+        });
+    }
+
+    // Same lock as the swap, so a change goes either into the old boards and the replay, or into the new boards
+    private synchronized void apply(String sourceType, String driverId, long delta) {
+        boards.add(sourceType, driverId, delta);
+        if (duringResync != null) {
+            duringResync.add(new Delta(sourceType, driverId, delta));
+        }
+    }
+
+    private record Delta(String sourceType, String driverId, long delta) {
+    }
+
+    private static final class Boards {
+        final Board overall = new Board();
+        final Map<String, Board> bySourceType = new ConcurrentHashMap<>();
+
+        void add(String sourceType, String driverId, long delta) {
+            overall.add(driverId, delta);
+            bySourceType.computeIfAbsent(sourceType.toLowerCase(), s -> new Board()).add(driverId, delta);
+        }
+    }
+
+    private record Entry(String driverId, long count) {
+    }
+
+    // Highest count first; driverId breaks ties so entries are unique within the set
+    private static final Comparator<Entry> RANKING = Comparator.comparingLong(Entry::count).reversed()
+            .thenComparing(Entry::driverId);
+
+    private static final class Board {
+        private final Map<String, Long> counts = new HashMap<>();
+        private final TreeSet<Entry> ranking = new TreeSet<>(RANKING);
+
+        synchronized void add(String driverId, long delta) {
+            long previous = counts.getOrDefault(driverId, 0L);
+            long next = Math.max(previous + delta, 0);
+            if (previous > 0) {
+                ranking.remove(new Entry(driverId, previous));
+            }
+            if (next > 0) {
+                counts.put(driverId, next);
+                ranking.add(new Entry(driverId, next));
+            } else {
+                counts.remove(driverId);
+            }
+        }
+
+        synchronized List<Map<String, Object>> top(int k) {
+            List<Map<String, Object>> rows = new ArrayList<>(Math.min(k, ranking.size()));
+            for (Entry entry : ranking) {
+                if (rows.size() == k) {
+                    break;
+                }
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("driverId", entry.driverId());
+                row.put("count", entry.count());
+                rows.add(row);
+            }
+            return rows;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.moveinsync.alertsystem.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-phase timers for single-alert ingest ({@code alert.ingest.phase}, tagged
+ * {@code phase}). Registered once; recording is a nanoTime read and an array index.
+ */
+@Component
+public class IngestMetrics {
+
+    public enum Phase {
+        VALIDATE,  // metadata parse and duplicate check
+        PERSIST,   // alert save
+        EVALUATE,  // rule record + evaluate
+        HISTORY,   // history rows handed to the per-transaction writer
+        COMMIT     // counter/rollup bookkeeping, flush and commit
+    }
+
+    private final Timer[] timers = new Timer[Phase.values().length];
+
+    public IngestMetrics(MeterRegistry meterRegistry) {
+        for (Phase phase : Phase.values()) {
+            timers[phase.ordinal()] = Timer.builder("alert.ingest.phase")
+                    .description("Time spent in each phase of POST /api/alerts")
+                    .tag("phase", phase.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+    }
+
+    /** Records the time since {@code startedNanos} and returns now, to start the next phase. */
+    public long record(Phase phase, long startedNanos) {
+        long now = System.nanoTime();
+        timers[phase.ordinal()].record(now - startedNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+}
@@ -0,0 +1,205 @@
+package com.moveinsync.alertsystem.service;
+
+import com.moveinsync.alertsystem.dto.AlertRequestDTO;
+import com.moveinsync.alertsystem.dto.BatchIngestResponseDTO;
+import com.moveinsync.alertsystem.dto.IngestTicketDTO;
+import com.moveinsync.alertsystem.exception.IngestBufferFullException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accept-now, persist-later ingestion behind {@code POST /api/alerts/async}.
+ *
+ * The request thread only assigns a tracking id and offers the alert to a fixed-size
+ * ring buffer ({@code alert.ingest.async.capacity}); when it is full the caller gets a
+ * 429 with a Retry-After hint instead of queueing unbounded work. A small pool of
+ * workers drains the buffer in micro-batches — up to {@code alert.ingest.async.batch-size}
+ * alerts, or whatever arrived within {@code alert.ingest.async.linger-ms} — and runs each
+ * through {@link AlertService#createAlerts}, so validation, rules, history and counters
+ * behave exactly as for the batch endpoint. A micro-batch whose transaction fails as a
+ * whole is retried one alert at a time, so only the offending alert's ticket fails. An
+ * alert whose copy was stored concurrently (the fingerprint index) is not a failure: its
+ * ticket ends DUPLICATE with the stored alert's id.
+ *
+ * Outcomes are kept for the last {@code alert.ingest.async.tracked} submissions. Alerts
+ * still buffered when the process stops are lost; clients that need the synchronous
+ * guarantee keep using {@code POST /api/alerts}.
+ */
+@Service
+public class IngestPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestPipeline.class);
+
+    private final AlertService alertService;
+    private final BlockingQueue<Submission> buffer;
+    private final Map<String, IngestTicketDTO> tickets;
+    private final DistributionSummary batchSizes;
+    private final Timer lag;
+
+    @Value("${alert.ingest.async.workers:2}")
+    private int workers;
+
+    @Value("${alert.ingest.async.batch-size:100}")
+    private int batchSize;
+
+    @Value("${alert.ingest.async.linger-ms:20}")
+    private long lingerMs;
+
+    @Value("${alert.ingest.async.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    private volatile boolean running;
+    private ExecutorService pool;
+
+    public IngestPipeline(AlertService alertService,
+            MeterRegistry meterRegistry,
+            @Value("${alert.ingest.async.capacity:10000}") int capacity,
+            @Value("${alert.ingest.async.tracked:100000}") int tracked) {
+        this.alertService = alertService;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.tickets = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IngestTicketDTO> eldest) {
+                return size() > tracked;
+            }
+        });
+        Gauge.builder("alert.ingest.queue.depth", buffer, BlockingQueue::size)
+                .description("Alerts accepted but not yet persisted")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("alert.ingest.batch.size")
+                .description("Alerts persisted per async ingest micro-batch")
+                .register(meterRegistry);
+        this.lag = Timer.builder("alert.ingest.lag")
+                .description("Time from 202 Accepted to the alert's batch committing")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        pool = Executors.newFixedThreadPool(workers);
+        for (int i = 0; i < workers; i++) {
+            pool.execute(this::drainLoop);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        pool.shutdown();
+        if (!pool.awaitTermination(10, TimeUnit.SECONDS) || !buffer.isEmpty()) {
+            log.warn("Async ingest stopped with {} alert(s) still buffered", buffer.size());
+        }
+    }
+
+    /** Buffers one alert; throws {@link IngestBufferFullException} when there is no room. */
+    public IngestTicketDTO submit(AlertRequestDTO dto) {
+        IngestTicketDTO ticket = IngestTicketDTO.queued(UUID.randomUUID().toString());
+        tickets.put(ticket.getTrackingId(), ticket);
+        if (!running || !buffer.offer(new Submission(ticket, dto, System.nanoTime()))) {
+            tickets.remove(ticket.getTrackingId());
+            throw new IngestBufferFullException(retryAfterSeconds);
+        }
+        return ticket;
+    }
+
+    public IngestTicketDTO status(String trackingId) {
+        IngestTicketDTO ticket = tickets.get(trackingId);
+        if (ticket == null) {
+            throw new EntityNotFoundException("No ingest ticket with tracking id: " + trackingId);
+        }
+        return ticket;
+    }
+
+    // Each worker exits once stopped and the buffer is empty
+    private void drainLoop() {
+        while (running || !buffer.isEmpty()) {
+            List<Submission> batch = new ArrayList<>(batchSize);
+            try {
+                Submission first = buffer.poll(lingerMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                while (batch.size() < batchSize) {
+                    Submission next = buffer.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                persist(batch);
+            }
+        }
+    }
+
+    private void persist(List<Submission> batch) {
+        try {
+            insert(batch);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                fail(batch.get(0), e);
+            } else {
+                // The whole transaction rolled back; one at a time, so only the offending alert fails
+                log.warn("Async ingest batch of {} alert(s) failed, retrying one by one", batch.size(), e);
+                for (Submission submission : batch) {
+                    try {
+                        insert(List.of(submission));
+                    } catch (RuntimeException itemFailure) {
+                        fail(submission, itemFailure);
+                    }
+                }
+            }
+        }
+        batchSizes.record(batch.size());
+        long now = System.nanoTime();
+        batch.forEach(submission -> lag.record(now - submission.acceptedAtNanos(), TimeUnit.NANOSECONDS));
+    }
+
+    private void insert(List<Submission> batch) {
+        List<AlertRequestDTO> dtos = new ArrayList<>(batch.size());
+        batch.forEach(submission -> dtos.add(submission.dto()));
+        BatchIngestResponseDTO response = alertService.createAlerts(dtos);
+        for (int i = 0; i < batch.size(); i++) {
+            IngestTicketDTO ticket = batch.get(i).ticket();
+            tickets.put(ticket.getTrackingId(), ticket.complete(response.getResults().get(i)));
+        }
+    }
+
+    private void fail(Submission submission, RuntimeException e) {
+        log.error("Async ingest of alert {} failed", submission.ticket().getTrackingId(), e);
+        IngestTicketDTO ticket = submission.ticket();
+        tickets.put(ticket.getTrackingId(), ticket.failed("Alert could not be persisted; resubmit"));
+    }
+
+    private record Submission(IngestTicketDTO ticket, AlertRequestDTO dto, long acceptedAtNanos) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.moveinsync.alertsystem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.moveinsync.alertsystem.dto.AlertMetadata;
+import com.moveinsync.alertsystem.dto.AlertRequestDTO;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single place alert metadata JSON is parsed on the ingest path, through one shared
+ * reader built from the application's configured {@link ObjectMapper}. The result is
+ * kept on the request, so validation, driver extraction, fingerprinting and the rule
+ * evaluators all reuse the same tree.
+ */
+@Component
+public class MetadataParser {
+
+    private final ObjectReader reader;
+
+    public MetadataParser(ObjectMapper objectMapper) {
+        this.reader = objectMapper.reader();
+    }
+
+    /** Parsed metadata for the request (parsing it on first use), or null if it isn't valid JSON. */
+    public AlertMetadata parse(AlertRequestDTO dto) {
+        if (dto.getParsedMetadata() == null) {
+            dto.setParsedMetadata(parse(dto.getMetadata()));
+        }
+        return dto.getParsedMetadata();
+    }
+
+    public AlertMetadata parse(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            JsonNode tree = reader.readTree(json);
+            return tree == null || tree.isMissingNode() ? null : AlertMetadata.of(tree);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+}
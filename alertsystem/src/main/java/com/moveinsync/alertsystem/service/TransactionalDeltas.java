@@ -0,0 +1,57 @@
+package com.moveinsync.alertsystem.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Sums per-key counter deltas for the current transaction. {@code write} runs once,
+ * just before commit and still inside the transaction; {@code publish} runs only
+ * after a successful commit. Outside a transaction each delta is written and
+ * published immediately.
+ */
+final class TransactionalDeltas<K> {
+
+    private final Consumer<Map<K, Long>> write;
+    private final Consumer<Map<K, Long>> publish;
+
+    TransactionalDeltas(Consumer<Map<K, Long>> write, Consumer<Map<K, Long>> publish) {
+        this.write = write;
+        this.publish = publish;
+    }
+
+    void add(K key, long delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Map<K, Long> single = Map.of(key, delta);
+            write.accept(single);
+            publish.accept(single);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<K, Long> deltas = (Map<K, Long>) TransactionSynchronizationManager.getResource(this);
+        if (deltas == null) {
+            Map<K, Long> txDeltas = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, txDeltas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    write.accept(txDeltas);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TransactionalDeltas.this);
+                    if (status == STATUS_COMMITTED) {
+                        publish.accept(txDeltas);
+                    }
+                }
+            });
+            deltas = txDeltas;
+        }
+        deltas.merge(key, delta, Long::sum);
+    }
+}
@@ -0,0 +1,37 @@
+-- One-off conversion of an existing (unpartitioned) install to the partitioned schema.
+-- Not a Flyway migration: run it by hand in a maintenance window, before the first start with
+-- the partitioned profile. Every statement rebuilds its table, so expect it to take as long as a
+-- full table copy.
+--
+-- Existing rows all land in one partition; add boundaries before p_future (for example one per
+-- month of existing data) if retention should be able to drop them before the whole backlog expires.
+
+ALTER TABLE alert MODIFY timestamp DATETIME(6) NOT NULL;
+ALTER TABLE alert
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (alert_id, timestamp),
+    DROP INDEX uk_alert_fingerprint,
+    ADD INDEX idx_alert_fingerprint (fingerprint);
+ALTER TABLE alert PARTITION BY RANGE COLUMNS (timestamp) (
+    PARTITION p_history VALUES LESS THAN ('2000-01-01 00:00:00'),
+    PARTITION p_future VALUES LESS THAN (MAXVALUE)
+);
+
+ALTER TABLE alert_history MODIFY transition_time DATETIME(6) NOT NULL;
+ALTER TABLE alert_history
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (history_id, transition_time);
+ALTER TABLE alert_history PARTITION BY RANGE COLUMNS (transition_time) (
+    PARTITION p_history VALUES LESS THAN ('2000-01-01 00:00:00'),
+    PARTITION p_future VALUES LESS THAN (MAXVALUE)
+);
+
+CREATE TABLE IF NOT EXISTS alert_fingerprint (
+    fingerprint VARCHAR(64) NOT NULL,
+    alert_id BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (fingerprint),
+    INDEX idx_fingerprint_created (created_at)
+);
+INSERT IGNORE INTO alert_fingerprint (fingerprint, alert_id, created_at)
+    SELECT fingerprint, alert_id, timestamp FROM alert WHERE fingerprint IS NOT NULL;
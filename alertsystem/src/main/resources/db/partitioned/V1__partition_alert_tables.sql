@@ -0,0 +1,53 @@
+-- Partitioned schema for alert and alert_history (alert.schema.partitioned, see PartitionMaintenanceJob).
+-- MySQL requires the partition column in every unique key, so the primary keys gain the timestamp and
+-- the unique fingerprint index moves to alert_fingerprint. The ids stay sequence-unique on their own.
+-- Only p_history and p_future are created here; the maintenance job splits p_future on startup.
+-- Existing unpartitioned tables are left alone (and rejected at startup): see db/partitioned-convert.sql.
+
+CREATE TABLE IF NOT EXISTS alert (
+    alert_id BIGINT NOT NULL,
+    source_type VARCHAR(255),
+    driver_id VARCHAR(64),
+    severity VARCHAR(32),
+    timestamp DATETIME(6) NOT NULL,
+    status VARCHAR(32),
+    metadata TEXT,
+    fingerprint VARCHAR(64),
+    PRIMARY KEY (alert_id, timestamp),
+    INDEX idx_source_timestamp (source_type, timestamp),
+    INDEX idx_source_driver_timestamp (source_type, driver_id, timestamp),
+    INDEX idx_status_timestamp (status, timestamp),
+    INDEX idx_status_driver (status, driver_id),
+    INDEX idx_timestamp (timestamp),
+    INDEX idx_severity_timestamp (severity, timestamp),
+    INDEX idx_driver_timestamp (driver_id, timestamp),
+    INDEX idx_alert_fingerprint (fingerprint)
+)
+PARTITION BY RANGE COLUMNS (timestamp) (
+    PARTITION p_history VALUES LESS THAN ('2000-01-01 00:00:00'),
+    PARTITION p_future VALUES LESS THAN (MAXVALUE)
+);
+
+CREATE TABLE IF NOT EXISTS alert_history (
+    history_id BIGINT NOT NULL,
+    alert_id BIGINT,
+    previous_status VARCHAR(32),
+    new_status VARCHAR(32),
+    transition_time DATETIME(6) NOT NULL,
+    reason VARCHAR(255),
+    PRIMARY KEY (history_id, transition_time),
+    INDEX idx_history_alert_time (alert_id, transition_time)
+)
+PARTITION BY RANGE COLUMNS (transition_time) (
+    PARTITION p_history VALUES LESS THAN ('2000-01-01 00:00:00'),
+    PARTITION p_future VALUES LESS THAN (MAXVALUE)
+);
+
+-- Ingest de-duplication arbiter (see AlertFingerprints); trimmed to the partition retention
+CREATE TABLE IF NOT EXISTS alert_fingerprint (
+    fingerprint VARCHAR(64) NOT NULL,
+    alert_id BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (fingerprint),
+    INDEX idx_fingerprint_created (created_at)
+);
@@ -1,13 +1,42 @@
 package com.moveinsync.alertsystem;
 
+import com.moveinsync.alertsystem.dto.AlertRequestDTO;
+import com.moveinsync.alertsystem.entity.Alert;
+import com.moveinsync.alertsystem.entity.AlertStatus;
+import com.moveinsync.alertsystem.service.AlertService;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
 @SpringBootTest
 class AlertsystemApplicationTests {
 
+	@Autowired
+	private AlertService alertService;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void identicalRepeatsWithoutEventTimeStillEscalate() {
+		// Arrange - overspeed escalates on the 3rd alert for a driver within the window
+		AlertRequestDTO dto = new AlertRequestDTO();
+		dto.setSourceType("overspeed");
+		dto.setMetadata("{\"driverId\": \"DRV-REPEAT-1\", \"speed_kmph\": 95}");
+
+		// Act - the same payload three times, with no event time to tell a retry apart
+		Alert first = alertService.createAlert(dto);
+		Alert second = alertService.createAlert(dto);
+		Alert third = alertService.createAlert(dto);
+
+		// Assert - none dropped as a duplicate, and the rule sees all three
+		assertNotEquals(first.getAlertId(), second.getAlertId());
+		assertNotEquals(second.getAlertId(), third.getAlertId());
+		assertEquals(AlertStatus.ESCALATED, third.getStatus());
+	}
+
 }
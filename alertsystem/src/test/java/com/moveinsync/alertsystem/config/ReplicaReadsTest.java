@@ -0,0 +1,78 @@
+package com.moveinsync.alertsystem.config;
+
+import com.moveinsync.alertsystem.config.ReplicaRoutingDataSource.Target;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaReadsTest {
+
+    private final ReplicaRoutingDataSource routing =
+            new ReplicaRoutingDataSource(mock(DataSource.class), mock(DataSource.class));
+    private ReplicaLagMonitor lagMonitor;
+    private ReplicaReads replicaReads;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        lagMonitor = mock(ReplicaLagMonitor.class);
+        ObjectProvider<ReplicaLagMonitor> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(lagMonitor);
+        replicaReads = new ReplicaReads(mock(PlatformTransactionManager.class), provider, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void freshReplicaServesTheRead() {
+        // Arrange
+        when(lagMonitor.isFresh()).thenReturn(true);
+
+        // Act
+        Object target = replicaReads.read(routing::determineCurrentLookupKey);
+
+        // Assert - and new connections go back to the primary afterwards
+        assertEquals(Target.REPLICA, target);
+        assertNull(routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void laggingReplicaIsBypassed() {
+        // Arrange
+        when(lagMonitor.isFresh()).thenReturn(false);
+
+        // Act
+        Object target = replicaReads.read(routing::determineCurrentLookupKey);
+
+        // Assert
+        assertEquals(Target.PRIMARY, target);
+    }
+
+    @Test
+    void replicaMissIsRetriedOnThePrimary() {
+        // Arrange - only the primary has the row
+        when(lagMonitor.isFresh()).thenReturn(true);
+        List<Object> targets = new ArrayList<>();
+
+        // Act
+        Optional<String> found = replicaReads.find(() -> {
+            Object target = routing.determineCurrentLookupKey();
+            targets.add(target);
+            return target == Target.PRIMARY ? Optional.of("alert") : Optional.empty();
+        });
+
+        // Assert
+        assertEquals(Optional.of("alert"), found);
+        assertEquals(List.of(Target.REPLICA, Target.PRIMARY), targets);
+    }
+}
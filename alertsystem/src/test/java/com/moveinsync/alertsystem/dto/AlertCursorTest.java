@@ -0,0 +1,24 @@
+package com.moveinsync.alertsystem.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AlertCursorTest {
+
+    @Test
+    void cursorRoundTripsWithMicrosecondTimestamp() {
+        AlertCursor cursor = new AlertCursor(LocalDateTime.of(2026, 10, 17, 9, 30, 5, 123_456_000), 4_200L);
+
+        assertEquals(cursor, AlertCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void tamperedCursorIsRejectedAsBadRequest() {
+        assertThrows(IllegalArgumentException.class, () -> AlertCursor.decode("not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> AlertCursor.decode("%%%"));
+    }
+}
@@ -0,0 +1,57 @@
+package com.moveinsync.alertsystem.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.moveinsync.alertsystem.entity.Alert;
+import com.moveinsync.alertsystem.entity.AlertStatus;
+import com.moveinsync.alertsystem.entity.Severity;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AlertSummaryPayloadTest {
+
+    // Same shape as the overspeed template in the ingest form
+    private static final String METADATA = "{\n  \"driverId\": \"DRV-001\",\n  \"vehicleId\": \"VH-123\",\n"
+            + "  \"speed_kmph\": 95,\n  \"limit_kmph\": 60,\n  \"location\": \"Highway NH-44\"\n}";
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void summaryPageIsLessThanHalfTheEntityPage() throws Exception {
+        // Arrange — one default-size page (100 rows) in both shapes
+        List<Alert> alerts = new ArrayList<>();
+        List<AlertSummaryDTO> summaries = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.of(2026, 10, 17, 9, 30);
+        for (long id = 1; id <= 100; id++) {
+            Alert alert = new Alert();
+            alert.setAlertId(id);
+            alert.setSourceType("overspeed");
+            alert.setDriverId("DRV-" + id);
+            alert.setSeverity(Severity.WARNING);
+            alert.setStatus(AlertStatus.OPEN);
+            alert.setTimestamp(now.minusMinutes(id));
+            alert.setMetadata(METADATA);
+            alerts.add(alert);
+            summaries.add(new AlertSummaryDTO(id, alert.getSourceType(), alert.getDriverId(),
+                    alert.getSeverity(), alert.getStatus(), alert.getTimestamp()));
+        }
+
+        // Act
+        int entityBytes = mapper.writeValueAsBytes(alerts).length;
+        String summaryJson = mapper.writeValueAsString(summaries);
+
+        // Assert
+        assertFalse(summaryJson.contains("metadata"));
+        assertTrue(summaryJson.length() * 2 < entityBytes,
+                "summary page " + summaryJson.length() + "B vs entity page " + entityBytes + "B");
+    }
+}
@@ -0,0 +1,96 @@
+package com.moveinsync.alertsystem.engine;
+
+import com.moveinsync.alertsystem.repository.AlertRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RuleEngineReloadTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path rulesFile;
+    private AlertRepository alertRepository;
+    private ViolationWindowStore windowStore;
+    private OverspeedRuleEvaluator overspeed;
+    private RuleEngine engine;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        rulesFile = tempDir.resolve("rules.json");
+        Files.writeString(rulesFile, "{ \"overspeed\": { \"escalate_if_count\": 3, \"window_mins\": 60 } }");
+
+        alertRepository = mock(AlertRepository.class);
+        windowStore = new ViolationWindowStore(true);
+        overspeed = new OverspeedRuleEvaluator(alertRepository, windowStore);
+        engine = new RuleEngine(List.of(overspeed, new ComplianceRuleEvaluator()),
+                new DefaultResourceLoader(), rulesFile.toUri().toString());
+        engine.reload();
+    }
+
+    @Test
+    void compilesRulesIntoPlansBoundToTheirEvaluator() {
+        RulePlan plan = engine.planFor("OverSpeed");
+
+        assertSame(overspeed, plan.evaluator(), "Plan lookup should be case-insensitive and pre-bound");
+        assertEquals(3, plan.config().getEscalate_if_count());
+        assertNull(engine.planFor("unknown_type"));
+    }
+
+    @Test
+    void reloadSwapsSnapshotAndBumpsVersion() throws Exception {
+        Files.writeString(rulesFile, "{ \"overspeed\": { \"escalate_if_count\": 5, \"window_mins\": 30 }, " +
+                "\"compliance\": { \"auto_close_if\": \"document_valid\" } }");
+
+        RuleSnapshot reloaded = engine.reload();
+
+        assertEquals(2, reloaded.version());
+        assertEquals(5, engine.planFor("overspeed").config().getEscalate_if_count());
+        assertEquals("document_valid", engine.planFor("compliance").config().getAuto_close_if());
+    }
+
+    @Test
+    void invalidRulesKeepThePreviousSnapshot() throws Exception {
+        RuleSnapshot before = engine.getSnapshot();
+        Files.writeString(rulesFile, "{ \"overspeed\": { \"escalate_if_count\": 3 } }");
+
+        assertThrows(IllegalArgumentException.class, () -> engine.reload());
+
+        assertSame(before, engine.getSnapshot(), "A rejected file must not replace the active rules");
+    }
+
+    @Test
+    void raisedThresholdIsWarmedBeforeTheReloadGoesLive() throws Exception {
+        // Arrange - the window held 3 events under the old rule, the table has 4
+        LocalDateTime now = LocalDateTime.now();
+        String key = ViolationWindowStore.key("overspeed", "DRV-1");
+        List<Object[]> rows = List.of(
+                new Object[] { "DRV-1", now.minusMinutes(1) }, new Object[] { "DRV-1", now.minusMinutes(2) },
+                new Object[] { "DRV-1", now.minusMinutes(3) }, new Object[] { "DRV-1", now.minusMinutes(4) });
+        rows.subList(0, 3).forEach(row -> windowStore.record(key, (LocalDateTime) row[1], 3, 60));
+        when(alertRepository.findDriverTimestampsBySourceTypeAfter(eq("overspeed"), any())).thenReturn(rows);
+        Files.writeString(rulesFile, "{ \"overspeed\": { \"escalate_if_count\": 5, \"window_mins\": 60 } }");
+
+        // Act
+        engine.reload();
+
+        // Assert - the fourth event is back, the three already held are not counted twice
+        assertEquals(4, windowStore.countAfter(key, now.minusMinutes(60)));
+    }
+}
@@ -6,7 +6,6 @@ import com.moveinsync.alertsystem.entity.Severity;
 import com.moveinsync.alertsystem.repository.AlertRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -15,21 +14,21 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.when;
 
 class RuleEngineTest {
 
     @Mock
     private AlertRepository alertRepository;
 
-    @InjectMocks
+    private ViolationWindowStore windowStore;
+
     private OverspeedRuleEvaluator evaluator;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        windowStore = new ViolationWindowStore(true);
+        evaluator = new OverspeedRuleEvaluator(alertRepository, windowStore);
     }
 
     @Test
@@ -37,11 +36,13 @@ class RuleEngineTest {
         // Arrange
         RuleConfig config = new RuleConfig();
         config.setWindow_mins(15);
+        config.setEscalate_if_count(3);
 
         Alert currentAlert = new Alert();
         currentAlert.setAlertId(3L);
         currentAlert.setSourceType("overspeed");
         currentAlert.setMetadata("{\"driverId\":\"driver-xyz\"}");
+        currentAlert.setDriverId("driver-xyz");
         currentAlert.setTimestamp(LocalDateTime.now());
         // Default severity before evaluation
         currentAlert.setSeverity(Severity.WARNING);
@@ -51,15 +52,18 @@ class RuleEngineTest {
         List<Alert> recentAlerts = new ArrayList<>();
         Alert pastAlert1 = new Alert();
         pastAlert1.setMetadata("{\"driverId\":\"driver-xyz\"}");
+        pastAlert1.setDriverId("driver-xyz");
+        pastAlert1.setTimestamp(LocalDateTime.now().minusMinutes(10));
         Alert pastAlert2 = new Alert();
         pastAlert2.setMetadata("{\"driverId\":\"driver-xyz\"}");
+        pastAlert2.setDriverId("driver-xyz");
+        pastAlert2.setTimestamp(LocalDateTime.now().minusMinutes(5));
 
         recentAlerts.add(pastAlert1);
         recentAlerts.add(pastAlert2);
         recentAlerts.add(currentAlert);
 
-        when(alertRepository.findBySourceTypeAndTimestampAfter(eq("overspeed"), any(LocalDateTime.class)))
-                .thenReturn(recentAlerts);
+        recentAlerts.forEach(alert -> evaluator.record(alert, config));
 
         // Act
         evaluator.evaluate(currentAlert, config);
@@ -76,11 +80,13 @@ class RuleEngineTest {
         // Arrange
         RuleConfig config = new RuleConfig();
         config.setWindow_mins(15);
+        config.setEscalate_if_count(3);
 
         Alert currentAlert = new Alert();
         currentAlert.setAlertId(2L);
         currentAlert.setSourceType("overspeed");
         currentAlert.setMetadata("{\"driverId\":\"driver-xyz\"}");
+        currentAlert.setDriverId("driver-xyz");
         currentAlert.setTimestamp(LocalDateTime.now());
         currentAlert.setSeverity(Severity.WARNING);
         currentAlert.setStatus(AlertStatus.OPEN);
@@ -89,12 +95,13 @@ class RuleEngineTest {
         List<Alert> recentAlerts = new ArrayList<>();
         Alert pastAlert1 = new Alert();
         pastAlert1.setMetadata("{\"driverId\":\"driver-xyz\"}");
+        pastAlert1.setDriverId("driver-xyz");
+        pastAlert1.setTimestamp(LocalDateTime.now().minusMinutes(10));
 
         recentAlerts.add(pastAlert1);
         recentAlerts.add(currentAlert);
 
-        when(alertRepository.findBySourceTypeAndTimestampAfter(eq("overspeed"), any(LocalDateTime.class)))
-                .thenReturn(recentAlerts);
+        recentAlerts.forEach(alert -> evaluator.record(alert, config));
 
         // Act
         evaluator.evaluate(currentAlert, config);
@@ -0,0 +1,86 @@
+package com.moveinsync.alertsystem.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ViolationWindowStoreTest {
+
+    private static final int THRESHOLD = 3;
+    private static final int WINDOW_MINS = 60;
+
+    @Test
+    void escalationDecisionsMatchWindowQuerySemantics() {
+        // Arrange - skewed, shuffled events for a handful of drivers over three windows
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.of(2026, 10, 17, 12, 0);
+        Map<String, List<LocalDateTime>> eventsByKey = new HashMap<>();
+        List<String[]> arrivals = new ArrayList<>();
+
+        for (int i = 0; i < 2_000; i++) {
+            String driverId = "DRV-" + (int) Math.abs(random.nextGaussian() * 5);
+            LocalDateTime ts = now.minus(random.nextInt(3 * WINDOW_MINS * 60_000), ChronoUnit.MILLIS)
+                    .plusNanos(random.nextInt(1_000) * 1_000L);
+            String key = ViolationWindowStore.key("overspeed", driverId);
+            eventsByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(ts);
+            arrivals.add(new String[] { key, ts.toString() });
+        }
+        Collections.shuffle(arrivals, random);
+
+        ViolationWindowStore store = new ViolationWindowStore(true);
+        for (String[] arrival : arrivals) {
+            store.record(arrival[0], LocalDateTime.parse(arrival[1]), THRESHOLD, WINDOW_MINS);
+        }
+
+        // Act / Assert - probe arbitrary instants and every exact event time (the strict '>' boundary)
+        for (Map.Entry<String, List<LocalDateTime>> entry : eventsByKey.entrySet()) {
+            List<LocalDateTime> probes = new ArrayList<>(entry.getValue());
+            for (int i = 0; i < 50; i++) {
+                probes.add(now.minus(random.nextInt(3 * WINDOW_MINS * 60_000), ChronoUnit.MILLIS));
+            }
+
+            for (LocalDateTime windowStart : probes) {
+                long dbCount = entry.getValue().stream().filter(ts -> ts.isAfter(windowStart)).count();
+                int storeCount = store.countAfter(entry.getKey(), windowStart);
+
+                assertEquals(dbCount >= THRESHOLD, storeCount >= THRESHOLD,
+                        "Escalation decision differs for " + entry.getKey() + " after " + windowStart);
+                assertEquals(Math.min(dbCount, THRESHOLD), storeCount,
+                        "Count differs below the threshold for " + entry.getKey() + " after " + windowStart);
+            }
+        }
+    }
+
+    @Test
+    void unknownKeyCountsAsNoViolations() {
+        ViolationWindowStore store = new ViolationWindowStore(true);
+
+        assertEquals(0, store.countAfter(ViolationWindowStore.key("overspeed", "nobody"),
+                LocalDateTime.now().minusMinutes(WINDOW_MINS)));
+    }
+
+    @Test
+    void sweepDropsKeysOutsideTheirWindow() {
+        // Arrange
+        ViolationWindowStore store = new ViolationWindowStore(true);
+        LocalDateTime now = LocalDateTime.now();
+        store.record(ViolationWindowStore.key("overspeed", "stale"), now.minusMinutes(WINDOW_MINS + 1),
+                THRESHOLD, WINDOW_MINS);
+        store.record(ViolationWindowStore.key("overspeed", "fresh"), now.minusMinutes(1), THRESHOLD, WINDOW_MINS);
+
+        // Act
+        store.sweep(now);
+
+        // Assert
+        assertEquals(1, store.size(), "Only the key with an in-window event should survive");
+    }
+}
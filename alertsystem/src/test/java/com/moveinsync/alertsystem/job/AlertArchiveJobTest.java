@@ -0,0 +1,77 @@
+package com.moveinsync.alertsystem.job;
+
+import com.moveinsync.alertsystem.service.AlertCounterService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AlertArchiveJobTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ClusterCoordinator clusterCoordinator;
+    private AlertArchiveJob job;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        clusterCoordinator = mock(ClusterCoordinator.class);
+        job = new AlertArchiveJob(jdbcTemplate, clusterCoordinator, mock(AlertCounterService.class),
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(job, "enabled", true);
+        ReflectionTestUtils.setField(job, "afterDays", 30);
+        ReflectionTestUtils.setField(job, "retentionDays", 365);
+        ReflectionTestUtils.setField(job, "chunkSize", 2);
+        ReflectionTestUtils.setField(job, "rateMs", 3600000L);
+    }
+
+    @Test
+    void closedAlertsAreCopiedBeforeTheyAreDeleted() {
+        // Arrange - one full chunk, then a short one ends the pass
+        when(jdbcTemplate.queryForList(startsWith("SELECT alert_id FROM alert a WHERE"), eq(Long.class),
+                any(), any(), any()))
+                .thenReturn(List.of(1L, 2L), List.of(3L));
+        when(jdbcTemplate.update(startsWith("DELETE FROM alert WHERE"), any(Object[].class))).thenReturn(2, 1);
+
+        // Act
+        long moved = job.archive(LocalDateTime.now().minusDays(30));
+
+        // Assert
+        assertEquals(3, moved);
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).update(startsWith("INSERT INTO alert_history_archive"), any(Object[].class));
+        order.verify(jdbcTemplate).update(startsWith("INSERT INTO alert_archive"), any(Object[].class));
+        order.verify(jdbcTemplate).update(startsWith("DELETE FROM alert_history WHERE"), any(Object[].class));
+        order.verify(jdbcTemplate).update(startsWith("DELETE FROM alert WHERE"), any(Object[].class));
+    }
+
+    @Test
+    void runIsSkippedWithoutTheLease() {
+        // Arrange
+        when(clusterCoordinator.tryAcquire(eq(AlertArchiveJob.JOB_NAME), any(Duration.class))).thenReturn(false);
+
+        // Act
+        job.archiveAndPurge();
+
+        // Assert
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(Long.class), any(), any(), any());
+    }
+}
@@ -0,0 +1,79 @@
+package com.moveinsync.alertsystem.job;
+
+import com.moveinsync.alertsystem.repository.SchedulerLeaseRepository;
+import com.moveinsync.alertsystem.repository.SchedulerNodeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ClusterCoordinatorTest {
+
+    private SchedulerLeaseRepository leaseRepository;
+    private SchedulerNodeRepository nodeRepository;
+    private ClusterCoordinator coordinator;
+
+    @BeforeEach
+    void setUp() {
+        leaseRepository = mock(SchedulerLeaseRepository.class);
+        nodeRepository = mock(SchedulerNodeRepository.class);
+        coordinator = new ClusterCoordinator(leaseRepository, nodeRepository,
+                mock(PlatformTransactionManager.class), "node-b");
+        ReflectionTestUtils.setField(coordinator, "heartbeatMs", 10_000L);
+    }
+
+    @Test
+    void leaseHeldElsewhereIsNotAcquired() {
+        // Arrange - the conditional UPDATE matches nothing and the row exists
+        when(leaseRepository.tryAcquire(eq("autoCloseJob"), eq("node-b"), any(), any())).thenReturn(0);
+        when(leaseRepository.existsById("autoCloseJob")).thenReturn(true);
+
+        // Act / Assert
+        assertFalse(coordinator.tryAcquire("autoCloseJob", Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void expiredLeaseIsAcquired() {
+        when(leaseRepository.tryAcquire(eq("autoCloseJob"), eq("node-b"), any(), any())).thenReturn(1);
+
+        assertTrue(coordinator.tryAcquire("autoCloseJob", Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void shardIsThePositionAmongLiveNodes() {
+        // Arrange
+        ReflectionTestUtils.setField(coordinator, "shardingEnabled", true);
+        when(nodeRepository.findLiveNodeIds(any())).thenReturn(List.of("node-a", "node-b", "node-c"));
+
+        // Act
+        ClusterCoordinator.Shard shard = coordinator.currentShard();
+
+        // Assert
+        assertEquals(new ClusterCoordinator.Shard(1, 3), shard);
+    }
+
+    @Test
+    void shardSlicesAreContiguousAndOpenAtTheEnds() {
+        // Act - active ids 100..399 across three nodes
+        ClusterCoordinator.IdRange first = new ClusterCoordinator.Shard(0, 3).slice(100, 399);
+        ClusterCoordinator.IdRange middle = new ClusterCoordinator.Shard(1, 3).slice(100, 399);
+        ClusterCoordinator.IdRange last = new ClusterCoordinator.Shard(2, 3).slice(100, 399);
+
+        // Assert - each slice starts where the previous one ends; newer ids go to the last
+        assertEquals(new ClusterCoordinator.IdRange(Long.MIN_VALUE, 200), first);
+        assertEquals(new ClusterCoordinator.IdRange(200, 300), middle);
+        assertEquals(new ClusterCoordinator.IdRange(300, Long.MAX_VALUE), last);
+        assertTrue(last.contains(1_000));
+    }
+}
@@ -0,0 +1,73 @@
+package com.moveinsync.alertsystem.job;
+
+import com.moveinsync.alertsystem.config.SqlDialect;
+import com.moveinsync.alertsystem.entity.SchedulerLease;
+import com.moveinsync.alertsystem.repository.SchedulerLeaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DriverIdBackfillJobTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ClusterCoordinator clusterCoordinator;
+    private SchedulerLeaseRepository leaseRepository;
+    private DriverIdBackfillJob job;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        clusterCoordinator = mock(ClusterCoordinator.class);
+        leaseRepository = mock(SchedulerLeaseRepository.class);
+        SqlDialect sqlDialect = mock(SqlDialect.class);
+        when(sqlDialect.isMySql()).thenReturn(true);
+        job = new DriverIdBackfillJob(jdbcTemplate, sqlDialect, clusterCoordinator, leaseRepository);
+        ReflectionTestUtils.setField(job, "chunkSize", 2);
+    }
+
+    @Test
+    void passWalksThePrimaryKeyOnceAndIsRecordedDone() {
+        // Arrange - ids end at 2, then at 3, then nothing is left
+        when(clusterCoordinator.tryAcquire(eq(DriverIdBackfillJob.JOB_NAME), any())).thenReturn(true);
+        when(jdbcTemplate.queryForObject(startsWith("SELECT MAX(alert_id)"), eq(Long.class), any(), any()))
+                .thenReturn(2L, 3L, null);
+        when(jdbcTemplate.update(startsWith("UPDATE alert"), any(), any())).thenReturn(1);
+
+        // Act - the second tick finds the job already done
+        job.backfillDriverIds();
+        job.backfillDriverIds();
+
+        // Assert - each chunk starts where the last one ended
+        verify(jdbcTemplate).update(startsWith("UPDATE alert"), eq(0L), eq(2L));
+        verify(jdbcTemplate).update(startsWith("UPDATE alert"), eq(2L), eq(3L));
+        verify(clusterCoordinator).finish(eq(DriverIdBackfillJob.JOB_NAME), any(), startsWith("done"));
+        verify(clusterCoordinator).tryAcquire(eq(DriverIdBackfillJob.JOB_NAME), any());
+    }
+
+    @Test
+    void passFinishedByAnotherReplicaIsNotRepeated() {
+        // Arrange
+        SchedulerLease lease = new SchedulerLease();
+        lease.setLastRunSummary("done, 42 rows");
+        when(leaseRepository.findById(DriverIdBackfillJob.JOB_NAME)).thenReturn(Optional.of(lease));
+
+        // Act
+        job.backfillDriverIds();
+
+        // Assert
+        verify(clusterCoordinator, never()).tryAcquire(anyString(), any());
+        verify(jdbcTemplate, never()).update(anyString(), any(), any());
+    }
+}
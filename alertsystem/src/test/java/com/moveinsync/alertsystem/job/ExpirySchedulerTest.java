@@ -0,0 +1,129 @@
+package com.moveinsync.alertsystem.job;
+
+import com.moveinsync.alertsystem.entity.Alert;
+import com.moveinsync.alertsystem.entity.AlertStatus;
+import com.moveinsync.alertsystem.repository.AlertRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExpirySchedulerTest {
+
+    private AlertRepository alertRepository;
+    private ClusterCoordinator clusterCoordinator;
+    private ExpiryScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        alertRepository = mock(AlertRepository.class);
+        clusterCoordinator = mock(ClusterCoordinator.class);
+        when(clusterCoordinator.tryAcquire(eq(ExpiryScheduler.JOB_NAME), any())).thenReturn(true);
+        scheduler = new ExpiryScheduler(alertRepository, mock(AlertCloser.class), clusterCoordinator,
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(scheduler, "ttlHours", 24);
+        ReflectionTestUtils.setField(scheduler, "tickMs", 1000L);
+        ReflectionTestUtils.setField(scheduler, "maxPerTick", 5000);
+        ReflectionTestUtils.setField(scheduler, "chunkSize", 500);
+        ReflectionTestUtils.setField(scheduler, "refillMs", 60000L);
+        ReflectionTestUtils.setField(scheduler, "heartbeatMs", 10000L);
+    }
+
+    @Test
+    void ownerLoadsDueAlertsFromTheDatabase() {
+        // Arrange - ingested on another replica: one 25h old (due), one due in 30s
+        when(alertRepository.findActiveDueChunk(anyList(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(List.of(row(1L, LocalDateTime.now().minusHours(25)),
+                        row(2L, LocalDateTime.now().minusHours(24).plusSeconds(30))));
+
+        // Act
+        scheduler.tick();
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Long>> ids = ArgumentCaptor.forClass(List.class);
+        verify(alertRepository).lockActiveByIds(ids.capture());
+        assertEquals(List.of(1L), ids.getValue());
+        assertEquals(1, scheduler.pendingCount(), "The alert due later should stay in the wheel");
+    }
+
+    @Test
+    void cancelledAlertIsNeverClosed() {
+        // Arrange - loaded, then a late alert lands in the loaded window
+        when(alertRepository.findActiveDueChunk(anyList(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(List.of());
+        scheduler.tick();
+        LocalDateTime timestamp = LocalDateTime.now().minusHours(25);
+        scheduler.scheduleAfterCommit(alert(7L, timestamp));
+        assertEquals(1, scheduler.pendingCount());
+
+        // Act - resolved before the tick got to it
+        scheduler.cancel(7L, timestamp);
+        scheduler.tick();
+
+        // Assert
+        verify(alertRepository, never()).lockActiveByIds(anyList());
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    @Test
+    void nodeWithoutTheLeaseKeepsNoWheel() {
+        // Arrange
+        when(clusterCoordinator.tryAcquire(eq(ExpiryScheduler.JOB_NAME), any())).thenReturn(false);
+
+        // Act
+        scheduler.tick();
+        scheduler.scheduleAfterCommit(alert(3L, LocalDateTime.now().minusHours(25)));
+
+        // Assert - the lease holder loads it from the database instead
+        verify(alertRepository, never()).findActiveDueChunk(anyList(), any(), any(), any(), any(), any(), any());
+        verify(alertRepository, never()).lockActiveByIds(anyList());
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    @Test
+    void shardedNodeLoadsOnlyItsOwnSlice() {
+        // Arrange - this node is shard 1 of 2, the upper half of ids 4..5
+        when(clusterCoordinator.isShardingEnabled()).thenReturn(true);
+        when(clusterCoordinator.currentShard()).thenReturn(new ClusterCoordinator.Shard(1, 2));
+        when(alertRepository.findActiveIdBounds(anyList())).thenReturn(List.<Object[]>of(new Object[] { 4L, 5L }));
+        when(alertRepository.findActiveDueChunk(anyList(), any(), any(), any(), eq(5L), eq(Long.MAX_VALUE), any()))
+                .thenReturn(List.<Object[]>of(row(5L, LocalDateTime.now().minusHours(25))));
+
+        // Act
+        scheduler.tick();
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Long>> ids = ArgumentCaptor.forClass(List.class);
+        verify(alertRepository).lockActiveByIds(ids.capture());
+        assertEquals(List.of(5L), ids.getValue());
+        verify(clusterCoordinator, never()).tryAcquire(any(), any());
+    }
+
+    private static Object[] row(Long id, LocalDateTime timestamp) {
+        return new Object[] { id, timestamp };
+    }
+
+    private static Alert alert(Long id, LocalDateTime timestamp) {
+        Alert alert = new Alert();
+        alert.setAlertId(id);
+        alert.setTimestamp(timestamp);
+        alert.setStatus(AlertStatus.OPEN);
+        return alert;
+    }
+}
@@ -0,0 +1,79 @@
+package com.moveinsync.alertsystem.job;
+
+import com.moveinsync.alertsystem.job.PartitionMaintenanceJob.Interval;
+import com.moveinsync.alertsystem.job.PartitionMaintenanceJob.Partition;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PartitionMaintenanceJobTest {
+
+    // A Saturday; its week starts on Monday 2026-10-12
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 17);
+
+    private static final Partition HISTORY = new Partition("p_history", LocalDate.of(2000, 1, 1));
+    private static final Partition FUTURE = new Partition("p_future", null);
+
+    @Test
+    void freshTablesGetTheCurrentWeekAndThePrecreatedOnes() {
+        // Act
+        List<Partition> planned = PartitionMaintenanceJob.plan(List.of(HISTORY, FUTURE), TODAY, Interval.WEEK, 2);
+
+        // Assert - everything before this week stays in one partition, then one per week
+        assertEquals(List.of(
+                new Partition("p20000101", LocalDate.of(2026, 10, 12)),
+                new Partition("p20261012", LocalDate.of(2026, 10, 19)),
+                new Partition("p20261019", LocalDate.of(2026, 10, 26)),
+                new Partition("p20261026", LocalDate.of(2026, 11, 2))), planned);
+    }
+
+    @Test
+    void onlyTheMissingDaysArePlannedOnceTablesAreAhead() {
+        // Arrange - partitions already reach 2026-10-19
+        List<Partition> existing = List.of(HISTORY,
+                new Partition("p20261017", LocalDate.of(2026, 10, 18)),
+                new Partition("p20261018", LocalDate.of(2026, 10, 19)),
+                FUTURE);
+
+        // Act
+        List<Partition> planned = PartitionMaintenanceJob.plan(existing, TODAY, Interval.DAY, 3);
+        List<Partition> upToDate = PartitionMaintenanceJob.plan(existing, TODAY, Interval.DAY, 1);
+
+        // Assert
+        assertEquals(List.of(
+                new Partition("p20261019", LocalDate.of(2026, 10, 20)),
+                new Partition("p20261020", LocalDate.of(2026, 10, 21))), planned);
+        assertTrue(upToDate.isEmpty());
+    }
+
+    @Test
+    void onlyPartitionsWhollyPastTheCutoffExpire() {
+        // Arrange
+        List<Partition> existing = List.of(HISTORY,
+                new Partition("p20251006", LocalDate.of(2025, 10, 13)),
+                new Partition("p20251013", LocalDate.of(2025, 10, 20)),
+                FUTURE);
+
+        // Act
+        List<String> expired = PartitionMaintenanceJob.expired(existing, LocalDate.of(2025, 10, 17));
+
+        // Assert - p20251013 still holds rows newer than the cutoff
+        assertEquals(List.of("p20251006"), expired);
+    }
+
+    @Test
+    void reorganizeKeepsAMaxvaluePartitionLast() {
+        // Act
+        String sql = PartitionMaintenanceJob.reorganizeSql("alert",
+                List.of(new Partition("p20261019", LocalDate.of(2026, 10, 26))));
+
+        // Assert
+        assertEquals("ALTER TABLE alert REORGANIZE PARTITION p_future INTO ("
+                + "PARTITION p20261019 VALUES LESS THAN ('2026-10-26 00:00:00'), "
+                + "PARTITION p_future VALUES LESS THAN (MAXVALUE))", sql);
+    }
+}
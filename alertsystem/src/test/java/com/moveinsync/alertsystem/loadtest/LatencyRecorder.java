@@ -0,0 +1,67 @@
+package com.moveinsync.alertsystem.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Exact latency samples per operation, kept as raw nanos so p999 is computed from the
+ * full distribution rather than approximated. A few million samples fit comfortably.
+ */
+class LatencyRecorder {
+
+    record Summary(String operation, long count, long errors, double perSecond,
+            double p50Ms, double p99Ms, double p999Ms, double maxMs) {
+    }
+
+    private final Map<String, Samples> samples = new TreeMap<>();
+
+    void record(String operation, long nanos, boolean ok) {
+        Samples target;
+        synchronized (samples) {
+            target = samples.computeIfAbsent(operation, op -> new Samples());
+        }
+        target.add(nanos, ok);
+    }
+
+    Summary[] summarize(double elapsedSeconds) {
+        synchronized (samples) {
+            return samples.entrySet().stream()
+                    .map(entry -> entry.getValue().summarize(entry.getKey(), elapsedSeconds))
+                    .toArray(Summary[]::new);
+        }
+    }
+
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+
+        synchronized void add(long value, boolean ok) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        synchronized Summary summarize(String operation, double elapsedSeconds) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return new Summary(operation, size, errors, size / elapsedSeconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                    size == 0 ? 0 : sorted[size - 1] / 1e6);
+        }
+
+        // Nearest-rank percentile, in milliseconds
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(p * sorted.length);
+            return sorted[Math.max(rank - 1, 0)] / 1e6;
+        }
+    }
+}
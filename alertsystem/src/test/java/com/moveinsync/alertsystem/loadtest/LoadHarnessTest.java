@@ -0,0 +1,270 @@
+package com.moveinsync.alertsystem.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moveinsync.alertsystem.engine.RuleEngine;
+import com.moveinsync.alertsystem.job.AutoCloseJob;
+import com.moveinsync.alertsystem.job.ExpiryScheduler;
+import com.moveinsync.alertsystem.job.RollupBackfillJob;
+import com.moveinsync.alertsystem.service.AlertCounterService;
+import com.moveinsync.alertsystem.service.DriverLeaderboard;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load run against the app on the embedded database ({@code local} profile):
+ * seeds a synthetic history, then for {@code load.duration-seconds} hammers
+ * {@code POST /api/alerts} and the dashboard endpoints over HTTP while AutoCloseJob
+ * runs back to back, and writes p50/p99/p999 latency and throughput per operation to
+ * {@code load.report}.
+ *
+ * Only runs with {@code mvn -Pload test}. Every knob is a system property, e.g.
+ * {@code -Dload.alerts=5000000 -Dload.ingest-threads=32}. The same seed gives the
+ * same dataset, so runs before and after a change are comparable.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("local")
+class LoadHarnessTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadHarnessTest.class);
+
+    private static final int ALERTS = Integer.getInteger("load.alerts", 1_000_000);
+    private static final int DRIVERS = Integer.getInteger("load.drivers", 20_000);
+    private static final int DAYS = Integer.getInteger("load.days", 90);
+    private static final long SEED = Long.getLong("load.seed", 42);
+    private static final int DURATION_SECONDS = Integer.getInteger("load.duration-seconds", 60);
+    private static final int INGEST_THREADS = Integer.getInteger("load.ingest-threads", 16);
+    private static final int DASHBOARD_THREADS = Integer.getInteger("load.dashboard-threads", 4);
+    private static final long AUTOCLOSE_PAUSE_MS = Long.getLong("load.autoclose-pause-ms", 1000);
+    private static final Path REPORT = Path.of(System.getProperty("load.report", "target/load-report.md"));
+
+    private static final String[] DASHBOARD_PATHS = {
+            "/api/dashboard/severity-counts",
+            "/api/dashboard/top-offenders",
+            "/api/dashboard/top-offenders?sourceType=overspeed",
+            "/api/dashboard/recent-events",
+            "/api/dashboard/trends?granularity=hourly",
+            "/api/dashboard/recent-autoclosed",
+            "/api/alerts?page=0&size=20"
+    };
+
+    // A fresh file database per run, so the seed alone decides the data
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        Path dir = Path.of("target", "loadtest");
+        registry.add("spring.datasource.url", () -> "jdbc:h2:file:" + dir.toAbsolutePath().resolve("db-" + System.nanoTime())
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH");
+        // The harness triggers AutoCloseJob itself
+        registry.add("alert.scheduler.rate-ms", () -> "3600000");
+        registry.add("logging.level.com.moveinsync.alertsystem", () -> "WARN");
+        registry.add("logging.level.com.moveinsync.alertsystem.loadtest", () -> "INFO");
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${app.admin.username}")
+    private String adminUsername;
+
+    @Value("${app.admin.password}")
+    private String adminPassword;
+
+    @Value("${alert.ttl.hours}")
+    private long ttlHours;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AutoCloseJob autoCloseJob;
+
+    @Autowired
+    private AlertCounterService counterService;
+
+    @Autowired
+    private DriverLeaderboard leaderboard;
+
+    @Autowired
+    private RollupBackfillJob rollupBackfillJob;
+
+    @Autowired
+    private ExpiryScheduler expiryScheduler;
+
+    @Autowired
+    private RuleEngine ruleEngine;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newFixedThreadPool(INGEST_THREADS + DASHBOARD_THREADS))
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void ingestDashboardAndAutoCloseUnderLoad() throws Exception {
+        // Arrange - seed, then rebuild everything the app derives from the table at startup
+        long seedStarted = System.nanoTime();
+        new SyntheticDataset(jdbcTemplate, DRIVERS, DAYS, ttlHours, SEED).generate(ALERTS);
+        counterService.reconcile();
+        leaderboard.resync();
+        rollupBackfillJob.backfill(null, null);
+        expiryScheduler.rebuild();
+        ruleEngine.loadRules();
+        double seedSeconds = (System.nanoTime() - seedStarted) / 1e9;
+        String token = login();
+
+        // Act
+        LatencyRecorder recorder = new LatencyRecorder();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+        ExecutorService workers = Executors.newFixedThreadPool(INGEST_THREADS + DASHBOARD_THREADS + 1);
+        List<Future<?>> running = new ArrayList<>();
+        long started = System.nanoTime();
+        for (int i = 0; i < INGEST_THREADS; i++) {
+            SyntheticDataset payloads = new SyntheticDataset(jdbcTemplate, DRIVERS, DAYS, ttlHours, SEED + 1 + i);
+            running.add(workers.submit(() -> ingestLoop(token, payloads, recorder, deadline)));
+        }
+        for (int i = 0; i < DASHBOARD_THREADS; i++) {
+            int offset = i;
+            running.add(workers.submit(() -> dashboardLoop(token, offset, recorder, deadline)));
+        }
+        running.add(workers.submit(() -> autoCloseLoop(recorder, deadline)));
+        for (Future<?> worker : running) {
+            worker.get();
+        }
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+        workers.shutdown();
+
+        // Assert - the report is the output; the run only fails if nothing got through
+        LatencyRecorder.Summary[] summaries = recorder.summarize(elapsedSeconds);
+        writeReport(summaries, seedSeconds, elapsedSeconds);
+        for (LatencyRecorder.Summary summary : summaries) {
+            assertTrue(summary.count() > summary.errors(), summary.operation() + " never succeeded");
+        }
+    }
+
+    private void ingestLoop(String token, SyntheticDataset payloads, LatencyRecorder recorder, long deadline) {
+        while (System.nanoTime() < deadline) {
+            String sourceType = payloads.randomSourceType();
+            String body;
+            try {
+                body = objectMapper.writeValueAsString(
+                        Map.of("sourceType", sourceType, "metadata", payloads.randomMetadata(sourceType)));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            HttpRequest request = authorized(token, "/api/alerts")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            send("POST /api/alerts", request, recorder);
+        }
+    }
+
+    private void dashboardLoop(String token, int offset, LatencyRecorder recorder, long deadline) {
+        for (int i = offset; System.nanoTime() < deadline; i++) {
+            String path = DASHBOARD_PATHS[i % DASHBOARD_PATHS.length];
+            send("GET " + path, authorized(token, path).GET().build(), recorder);
+        }
+    }
+
+    private void autoCloseLoop(LatencyRecorder recorder, long deadline) {
+        while (System.nanoTime() < deadline) {
+            long started = System.nanoTime();
+            boolean ok = true;
+            try {
+                autoCloseJob.scanAndCloseAlerts();
+            } catch (RuntimeException e) {
+                ok = false;
+            }
+            recorder.record("AutoCloseJob run", System.nanoTime() - started, ok);
+            try {
+                Thread.sleep(AUTOCLOSE_PAUSE_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void send(String operation, HttpRequest request, LatencyRecorder recorder) {
+        long started = System.nanoTime();
+        boolean ok;
+        try {
+            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+            ok = response.statusCode() < 400;
+        } catch (IOException e) {
+            ok = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        recorder.record(operation, System.nanoTime() - started, ok);
+    }
+
+    private HttpRequest.Builder authorized(String token, String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private String login() throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(Map.of("username", adminUsername, "password", adminPassword));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private void writeReport(LatencyRecorder.Summary[] summaries, double seedSeconds, double elapsedSeconds)
+            throws IOException {
+        StringBuilder report = new StringBuilder();
+        report.append("# Load run ").append(LocalDateTime.now().withNano(0)).append("\n\n");
+        report.append(String.format(Locale.ROOT,
+                "- dataset: %,d alerts, %,d drivers over %d days (seed %d), seeded in %.1f s%n",
+                ALERTS, DRIVERS, DAYS, SEED, seedSeconds));
+        report.append(String.format(Locale.ROOT,
+                "- load: %d ingest + %d dashboard threads, AutoCloseJob every %d ms, %.1f s%n%n",
+                INGEST_THREADS, DASHBOARD_THREADS, AUTOCLOSE_PAUSE_MS, elapsedSeconds));
+        report.append("| operation | count | errors | ops/s | p50 ms | p99 ms | p999 ms | max ms |\n");
+        report.append("|---|---:|---:|---:|---:|---:|---:|---:|\n");
+        for (LatencyRecorder.Summary s : summaries) {
+            report.append(String.format(Locale.ROOT, "| %s | %d | %d | %.1f | %.2f | %.2f | %.2f | %.2f |%n",
+                    s.operation(), s.count(), s.errors(), s.perSecond(), s.p50Ms(), s.p99Ms(), s.p999Ms(), s.maxMs()));
+        }
+        Files.createDirectories(REPORT.toAbsolutePath().getParent());
+        Files.writeString(REPORT, report);
+        log.info("Load report written to {}\n{}", REPORT.toAbsolutePath(), report);
+    }
+}
@@ -0,0 +1,156 @@
+package com.moveinsync.alertsystem.loadtest;
+
+import com.moveinsync.alertsystem.entity.AlertStatus;
+import com.moveinsync.alertsystem.entity.Severity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds the alert table with a reproducible synthetic history, written straight through
+ * JDBC in batches (the ingest path is what the harness measures, not what fills it).
+ *
+ * The shape follows production: sourceTypes are weighted (overspeed dominates), driver
+ * activity is Zipf-skewed so a few drivers own most alerts, timestamps thin out with
+ * age over {@code days}, and status depends on age — recent alerts are mostly active,
+ * older ones resolved or auto-closed, with a small stale backlog for the TTL pass.
+ * Every tenth alert also gets a history row.
+ */
+class SyntheticDataset {
+
+    private static final String[] SOURCE_TYPES = { "overspeed", "feedback_negative", "compliance" };
+    private static final double[] SOURCE_WEIGHTS = { 0.60, 0.25, 0.15 };
+    private static final int BATCH = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int drivers;
+    private final int days;
+    private final long ttlHours;
+    private final Random random;
+    private final double[] driverCdf;
+
+    SyntheticDataset(JdbcTemplate jdbcTemplate, int drivers, int days, long ttlHours, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.drivers = drivers;
+        this.days = days;
+        this.ttlHours = ttlHours;
+        this.random = new Random(seed);
+        this.driverCdf = zipfCdf(drivers, 1.1);
+    }
+
+    /** Inserts {@code count} alerts (ids 1..count) and moves the id sequences past them. */
+    void generate(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> alerts = new ArrayList<>(BATCH);
+        List<Object[]> histories = new ArrayList<>(BATCH / 10 + 1);
+        long historyId = 0;
+        for (long id = 1; id <= count; id++) {
+            String sourceType = SOURCE_TYPES[pick(SOURCE_WEIGHTS)];
+            String driverId = String.format("DRV-%05d", driverRank());
+            // Exponential age with a mean of a sixth of the range, capped at the range
+            double ageHours = Math.min(-Math.log(1 - random.nextDouble()) * days * 4, days * 24.0);
+            LocalDateTime timestamp = now.minusSeconds((long) (ageHours * 3600));
+            AlertStatus status = statusFor(sourceType, ageHours);
+            Severity severity = status == AlertStatus.ESCALATED ? Severity.CRITICAL
+                    : "compliance".equals(sourceType) ? Severity.INFO : Severity.WARNING;
+
+            alerts.add(new Object[] { id, sourceType, driverId, severity.name(), Timestamp.valueOf(timestamp),
+                    status.name(), metadata(sourceType, driverId) });
+            if (id % 10 == 0) {
+                histories.add(new Object[] { ++historyId, id, AlertStatus.OPEN.name(), status.name(),
+                        Timestamp.valueOf(timestamp.plusMinutes(random.nextInt(120))), "Seeded by load harness" });
+            }
+            if (alerts.size() == BATCH) {
+                flush(alerts, histories);
+            }
+        }
+        flush(alerts, histories);
+        // Hibernate's pooled optimizer hands out (value - allocationSize, value]: start well clear
+        jdbcTemplate.execute("ALTER SEQUENCE alert_seq RESTART WITH " + (count + 100));
+        jdbcTemplate.execute("ALTER SEQUENCE alert_history_seq RESTART WITH " + (historyId + 100));
+    }
+
+    private void flush(List<Object[]> alerts, List<Object[]> histories) {
+        if (!alerts.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO alert (alert_id, source_type, driver_id, severity, timestamp, " +
+                    "status, metadata) VALUES (?, ?, ?, ?, ?, ?, ?)", alerts);
+            alerts.clear();
+        }
+        if (!histories.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO alert_history (history_id, alert_id, previous_status, new_status, " +
+                    "transition_time, reason) VALUES (?, ?, ?, ?, ?, ?)", histories);
+            histories.clear();
+        }
+    }
+
+    private AlertStatus statusFor(String sourceType, double ageHours) {
+        double roll = random.nextDouble();
+        if (ageHours < ttlHours) {
+            if ("compliance".equals(sourceType) && roll < 0.25) {
+                return AlertStatus.AUTO_CLOSED;
+            }
+            return roll < 0.55 ? AlertStatus.OPEN : roll < 0.70 ? AlertStatus.ESCALATED : AlertStatus.RESOLVED;
+        }
+        // Past the TTL: a thin backlog is still active, the rest was closed one way or the other
+        return roll < 0.01 ? AlertStatus.OPEN : roll < 0.55 ? AlertStatus.AUTO_CLOSED : AlertStatus.RESOLVED;
+    }
+
+    private String metadata(String sourceType, String driverId) {
+        return switch (sourceType) {
+            case "overspeed" -> {
+                int limit = 60 + 20 * random.nextInt(3);
+                yield "{\"driverId\":\"" + driverId + "\",\"vehicleId\":\"VH-" + random.nextInt(5000)
+                        + "\",\"speed_kmph\":" + (limit + 5 + random.nextInt(50)) + ",\"limit_kmph\":" + limit
+                        + ",\"location\":\"Highway NH-" + random.nextInt(100) + "\"}";
+            }
+            case "feedback_negative" -> "{\"driverId\":\"" + driverId + "\",\"rating\":" + (1 + random.nextInt(2))
+                    + ",\"comment\":\"Rash driving\",\"passenger\":\"P-" + random.nextInt(100_000) + "\"}";
+            default -> "{\"driverId\":\"" + driverId + "\",\"document_type\":\"license\",\"expiry_date\":\"2026-0"
+                    + (1 + random.nextInt(9)) + "-15\",\"status\":\""
+                    + (random.nextInt(4) == 0 ? "document_valid" : "expired") + "\"}";
+        };
+    }
+
+    // Ingest payloads for the load driver; one dataset per worker thread, Random isn't worth sharing
+    String randomMetadata(String sourceType) {
+        return metadata(sourceType, String.format("DRV-%05d", driverRank()));
+    }
+
+    String randomSourceType() {
+        return SOURCE_TYPES[pick(SOURCE_WEIGHTS)];
+    }
+
+    private int pick(double[] weights) {
+        double roll = random.nextDouble();
+        for (int i = 0; i < weights.length - 1; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private int driverRank() {
+        int index = Arrays.binarySearch(driverCdf, random.nextDouble());
+        return Math.min(index < 0 ? -index - 1 : index, drivers - 1);
+    }
+
+    private static double[] zipfCdf(int n, double exponent) {
+        double[] cdf = new double[n];
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            total += 1 / Math.pow(i + 1, exponent);
+            cdf[i] = total;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= total;
+        }
+        return cdf;
+    }
+}
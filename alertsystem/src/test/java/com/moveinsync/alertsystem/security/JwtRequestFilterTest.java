@@ -0,0 +1,79 @@
+package com.moveinsync.alertsystem.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtRequestFilterTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+    private final UserDetails admin = User.withUsername("admin").password("x").roles("ADMIN").build();
+
+    @Test
+    void repeatedTokenSkipsVerificationAndUserLookup() {
+        // Arrange
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000);
+        JwtRequestFilter filter = new JwtRequestFilter(jwtUtil, userDetailsService, new SimpleMeterRegistry(),
+                100, 300_000);
+        when(userDetailsService.loadUserByUsername("admin")).thenReturn(admin);
+        String token = jwtUtil.generateToken("admin");
+
+        // Act
+        UserDetails first = filter.authenticate(token);
+        UserDetails second = filter.authenticate(token);
+
+        // Assert
+        assertSame(admin, first);
+        assertSame(admin, second);
+        verify(userDetailsService, times(1)).loadUserByUsername("admin");
+    }
+
+    @Test
+    void expiredOrForeignTokensAreRejected() {
+        // Arrange
+        JwtRequestFilter filter = new JwtRequestFilter(new JwtUtil(SECRET, 60_000), userDetailsService,
+                new SimpleMeterRegistry(), 100, 300_000);
+        String expired = new JwtUtil(SECRET, -1_000).generateToken("admin");
+        String foreign = new JwtUtil("fedcba9876543210fedcba9876543210", 60_000).generateToken("admin");
+
+        // Act / Assert
+        assertNull(filter.authenticate(expired));
+        assertNull(filter.authenticate(foreign));
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void cacheStaysWithinItsCap() {
+        // Arrange
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000);
+        JwtRequestFilter filter = new JwtRequestFilter(jwtUtil, userDetailsService, new SimpleMeterRegistry(),
+                10, 300_000);
+        when(userDetailsService.loadUserByUsername(anyString())).thenReturn(admin);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            filter.authenticate(jwtUtil.generateToken("user" + i));
+        }
+
+        // Assert
+        Map<?, ?> verified = (Map<?, ?>) ReflectionTestUtils.getField(filter, "verified");
+        assertTrue(verified.size() <= 10, "cache holds " + verified.size() + " tokens");
+    }
+}
@@ -0,0 +1,80 @@
+package com.moveinsync.alertsystem.service;
+
+import com.moveinsync.alertsystem.entity.Alert;
+import com.moveinsync.alertsystem.entity.AlertStatus;
+import com.moveinsync.alertsystem.entity.Severity;
+import com.moveinsync.alertsystem.job.ClusterCoordinator;
+import com.moveinsync.alertsystem.repository.AlertCounterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class AlertCounterServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private AlertCounterService counters;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        counters = new AlertCounterService(mock(AlertCounterRepository.class), jdbcTemplate,
+                mock(PlatformTransactionManager.class), mock(ClusterCoordinator.class));
+    }
+
+    @Test
+    void transitionsMoveCountsBetweenSeverities() {
+        // Arrange
+        counters.created(alert(Severity.WARNING, AlertStatus.OPEN));
+        counters.created(alert(Severity.WARNING, AlertStatus.OPEN));
+
+        // Act - one of them escalates, then gets resolved
+        counters.transitioned("overspeed", Severity.WARNING, AlertStatus.OPEN, Severity.CRITICAL, AlertStatus.ESCALATED);
+        counters.transitioned("overspeed", Severity.CRITICAL, AlertStatus.ESCALATED, Severity.CRITICAL, AlertStatus.RESOLVED);
+
+        // Assert
+        Map<Severity, Long> totals = counters.countBySeverity();
+        assertEquals(1L, totals.get(Severity.WARNING));
+        assertEquals(1L, totals.get(Severity.CRITICAL));
+        assertEquals(0L, totals.get(Severity.INFO));
+    }
+
+    @Test
+    void rolledBackTransactionNeverReachesTheCounters() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            counters.created(alert(Severity.WARNING, AlertStatus.OPEN));
+
+            // Act
+            for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+                sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        assertEquals(0L, counters.countBySeverity().get(Severity.WARNING));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    private static Alert alert(Severity severity, AlertStatus status) {
+        Alert alert = new Alert();
+        alert.setSourceType("overspeed");
+        alert.setSeverity(severity);
+        alert.setStatus(status);
+        return alert;
+    }
+}
@@ -0,0 +1,99 @@
+package com.moveinsync.alertsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moveinsync.alertsystem.dto.AlertRequestDTO;
+import com.moveinsync.alertsystem.repository.AlertRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class AlertFingerprintsTest {
+
+    private AlertRepository alertRepository;
+    private AlertFingerprints fingerprints;
+
+    @BeforeEach
+    void setUp() {
+        alertRepository = mock(AlertRepository.class);
+        ObjectMapper objectMapper = new ObjectMapper();
+        fingerprints = new AlertFingerprints(alertRepository, mock(JdbcTemplate.class), objectMapper,
+                new MetadataParser(objectMapper),
+                new SimpleMeterRegistry(), 1000);
+        ReflectionTestUtils.setField(fingerprints, "enabled", true);
+    }
+
+    @Test
+    void reorderedMetadataHasTheSameFingerprint() {
+        // Arrange
+        AlertRequestDTO first = request("{\"driverId\":\"DRV-1\",\"speed_kmph\":95,\"eventTime\":\"t1\"}");
+        AlertRequestDTO retry = request("{ \"eventTime\": \"t1\", \"speed_kmph\": 95,\n  \"driverId\": \"DRV-1\" }");
+
+        // Act / Assert
+        assertEquals(fingerprints.of(first), fingerprints.of(retry));
+        assertNotEquals(fingerprints.of(first).value(),
+                fingerprints.of(request("{\"driverId\":\"DRV-1\",\"speed_kmph\":95,\"eventTime\":\"t2\"}")).value());
+    }
+
+    @Test
+    void retryOfAStoredEventIsCaughtWithoutADatabaseRead() {
+        // Arrange
+        AlertRequestDTO dto = request("{\"driverId\":\"DRV-1\",\"speed_kmph\":95,\"timestamp\":\"t1\"}");
+        fingerprints.remember(fingerprints.of(dto).value(), 42L);
+
+        // Act
+        Long duplicateOf = fingerprints.findDuplicate(fingerprints.of(dto));
+
+        // Assert
+        assertEquals(42L, duplicateOf);
+        verify(alertRepository, never()).findIdByFingerprint(anyString());
+    }
+
+    @Test
+    void alertWithoutEventTimeOrKeyIsNeverFingerprinted() {
+        // Act / Assert - identical payloads may be separate violations the rules must count
+        assertNull(fingerprints.of(request("{\"driverId\":\"DRV-1\",\"speed_kmph\":95}")));
+    }
+
+    @Test
+    void newAlertMissesTheBloomFilterAndSkipsTheDatabase() {
+        // Arrange
+        fingerprints.remember(fingerprints.of(request("{\"driverId\":\"DRV-1\",\"eventTime\":\"t1\"}")).value(), 1L);
+
+        // Act
+        Long duplicateOf = fingerprints.findDuplicate(
+                fingerprints.of(request("{\"driverId\":\"DRV-2\",\"eventTime\":\"t1\"}")));
+
+        // Assert
+        assertNull(duplicateOf);
+        verify(alertRepository, never()).findIdByFingerprint(anyString());
+    }
+
+    @Test
+    void idempotencyKeyOverridesContent() {
+        // Arrange
+        AlertRequestDTO first = request("{\"driverId\":\"DRV-1\",\"speed_kmph\":95}");
+        first.setIdempotencyKey("gw-123");
+        AlertRequestDTO retry = request("{\"driverId\":\"DRV-1\",\"speed_kmph\":97}");
+        retry.setIdempotencyKey("gw-123");
+
+        // Act / Assert - same key matches whatever the content, event time or none
+        assertEquals(fingerprints.of(first), fingerprints.of(retry));
+    }
+
+    private static AlertRequestDTO request(String metadata) {
+        AlertRequestDTO dto = new AlertRequestDTO();
+        dto.setSourceType("overspeed");
+        dto.setMetadata(metadata);
+        return dto;
+    }
+}
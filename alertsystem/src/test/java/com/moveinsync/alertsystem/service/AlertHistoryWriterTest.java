@@ -0,0 +1,72 @@
+package com.moveinsync.alertsystem.service;
+
+import com.moveinsync.alertsystem.entity.AlertHistory;
+import com.moveinsync.alertsystem.entity.AlertStatus;
+import com.moveinsync.alertsystem.repository.AlertHistoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class AlertHistoryWriterTest {
+
+    private final AlertHistoryRepository historyRepository = mock(AlertHistoryRepository.class);
+    private final AlertHistoryWriter writer = new AlertHistoryWriter(historyRepository,
+            mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.unbindResourceIfPossible(writer);
+    }
+
+    @Test
+    void appendsInATransactionAreInsertedTogetherBeforeCommit() {
+        // Arrange - a transaction in progress
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        AlertHistory first = history(1L);
+        AlertHistory second = history(2L);
+
+        // Act
+        writer.append(first);
+        writer.append(second);
+
+        // Assert - nothing until commit, then one batch inside the transaction
+        verify(historyRepository, never()).saveAll(anyList());
+        TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.beforeCommit(false));
+        verify(historyRepository).saveAll(List.of(first, second));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    @Test
+    void appendOutsideATransactionInsertsImmediately() {
+        // Act
+        writer.append(history(5L));
+
+        // Assert
+        verify(historyRepository).saveAll(anyList());
+    }
+
+    private static AlertHistory history(Long alertId) {
+        AlertHistory history = new AlertHistory();
+        history.setAlertId(alertId);
+        history.setNewStatus(AlertStatus.OPEN);
+        history.setTransitionTime(LocalDateTime.now());
+        return history;
+    }
+}
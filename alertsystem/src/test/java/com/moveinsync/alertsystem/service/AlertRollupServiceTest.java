@@ -0,0 +1,54 @@
+package com.moveinsync.alertsystem.service;
+
+import com.moveinsync.alertsystem.config.SqlDialect;
+import com.moveinsync.alertsystem.entity.Alert;
+import com.moveinsync.alertsystem.entity.Severity;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class AlertRollupServiceTest {
+
+    @Test
+    void escalationMovesTheAlertBetweenSeveritiesInItsOwnBuckets() {
+        // Arrange
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        AlertRollupService rollups = new AlertRollupService(jdbcTemplate, mock(SqlDialect.class));
+        Alert alert = new Alert();
+        alert.setSourceType("overspeed");
+        alert.setTimestamp(LocalDateTime.of(2026, 10, 17, 13, 45, 12));
+        alert.setSeverity(Severity.CRITICAL);
+
+        // Act - outside a transaction each delta is written straight away
+        rollups.severityChanged(alert, Severity.WARNING);
+
+        // Assert - the hourly rows use the alert's hour, never the time of escalation
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2))
+                .batchUpdate(contains("alert_rollup_hourly"), rows.capture());
+        Timestamp hour = Timestamp.valueOf(LocalDateTime.of(2026, 10, 17, 13, 0));
+        assertArrayEquals(new Object[] { hour, "overspeed", "WARNING", -1L }, rows.getAllValues().get(0).get(0));
+        assertArrayEquals(new Object[] { hour, "overspeed", "CRITICAL", 1L }, rows.getAllValues().get(1).get(0));
+        verify(jdbcTemplate, times(2)).batchUpdate(contains("alert_rollup_daily"), anyList());
+    }
+
+    @Test
+    void unknownGranularityIsRejected() {
+        assertEquals(AlertRollupService.Granularity.HOURLY, AlertRollupService.Granularity.parse("Hourly"));
+        assertThrows(IllegalArgumentException.class, () -> AlertRollupService.Granularity.parse("weekly"));
+    }
+}
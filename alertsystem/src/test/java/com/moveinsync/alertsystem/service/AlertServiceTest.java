@@ -0,0 +1,96 @@
+package com.moveinsync.alertsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moveinsync.alertsystem.config.ReplicaReads;
+import com.moveinsync.alertsystem.dto.AlertRequestDTO;
+import com.moveinsync.alertsystem.dto.BatchIngestResponseDTO;
+import com.moveinsync.alertsystem.engine.RuleEngine;
+import com.moveinsync.alertsystem.engine.RuleMetrics;
+import com.moveinsync.alertsystem.engine.RuleSnapshot;
+import com.moveinsync.alertsystem.entity.Alert;
+import com.moveinsync.alertsystem.job.ExpiryScheduler;
+import com.moveinsync.alertsystem.repository.AlertArchiveRepository;
+import com.moveinsync.alertsystem.repository.AlertHistoryArchiveRepository;
+import com.moveinsync.alertsystem.repository.AlertHistoryRepository;
+import com.moveinsync.alertsystem.repository.AlertRepository;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AlertServiceTest {
+
+    @Test
+    void concurrentDuplicateInABatchOnlyDropsThatItem() {
+        // Arrange - two new alerts; another replica stores the first one's fingerprint mid-flight
+        AlertRepository alertRepository = mock(AlertRepository.class);
+        AlertFingerprints fingerprints = mock(AlertFingerprints.class);
+        RuleEngine ruleEngine = mock(RuleEngine.class);
+        Validator validator = mock(Validator.class);
+        AlertService service = new AlertService(alertRepository, ruleEngine, mock(AlertHistoryRepository.class),
+                mock(AlertArchiveRepository.class), mock(AlertHistoryArchiveRepository.class),
+                mock(AlertHistoryWriter.class), validator, new MetadataParser(new ObjectMapper()),
+                mock(ExpiryScheduler.class), mock(AlertCounterService.class), mock(DriverLeaderboard.class),
+                mock(AlertRollupService.class), mock(DashboardStream.class), fingerprints,
+                mock(IngestMetrics.class), mock(RuleMetrics.class), mock(ReplicaReads.class),
+                mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(service, "maxBatchSize", 500);
+
+        AlertRequestDTO first = request("DRV-1");
+        AlertRequestDTO second = request("DRV-2");
+        when(validator.validate(any(AlertRequestDTO.class))).thenReturn(Set.of());
+        when(fingerprints.of(same(first))).thenReturn(new AlertFingerprints.Fingerprint("fp-1"));
+        when(fingerprints.of(same(second))).thenReturn(new AlertFingerprints.Fingerprint("fp-2"));
+        when(fingerprints.findDuplicate(any())).thenReturn(null);
+        when(ruleEngine.getSnapshot()).thenReturn(
+                new RuleSnapshot(1, LocalDateTime.now(), "test", Map.of(), Map.of()));
+        when(alertRepository.findIdByFingerprint("fp-1")).thenReturn(Optional.of(7L));
+        when(alertRepository.findIdByFingerprint("fp-2")).thenReturn(Optional.empty());
+        when(alertRepository.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'fp-1'"))
+                .thenAnswer(invocation -> {
+                    List<Alert> alerts = invocation.getArgument(0);
+                    alerts.forEach(alert -> alert.setAlertId(100L));
+                    return alerts;
+                });
+
+        // Act
+        BatchIngestResponseDTO response = service.createAlerts(List.of(first, second));
+
+        // Assert - the first is reported as the stored alert, the second is inserted on the retry
+        assertEquals(1, response.getAccepted());
+        assertEquals(1, response.getDuplicates());
+        assertEquals(0, response.getRejected());
+        assertTrue(response.getResults().get(0).isDuplicate());
+        assertEquals(7L, response.getResults().get(0).getAlertId());
+        assertFalse(response.getResults().get(1).isDuplicate());
+        assertEquals(100L, response.getResults().get(1).getAlertId());
+        verify(alertRepository, times(2)).saveAll(anyList());
+        verify(fingerprints).remember("fp-1", 7L);
+    }
+
+    private static AlertRequestDTO request(String driverId) {
+        AlertRequestDTO dto = new AlertRequestDTO();
+        dto.setSourceType("overspeed");
+        dto.setMetadata("{\"driverId\": \"" + driverId + "\"}");
+        return dto;
+    }
+}
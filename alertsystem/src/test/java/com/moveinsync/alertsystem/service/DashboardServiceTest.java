@@ -0,0 +1,38 @@
+package com.moveinsync.alertsystem.service;
+
+import com.moveinsync.alertsystem.config.ReplicaReads;
+import com.moveinsync.alertsystem.repository.AlertHistoryRepository;
+import com.moveinsync.alertsystem.repository.AlertRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DashboardServiceTest {
+
+    private final AlertRollupService rollups = mock(AlertRollupService.class);
+    private final ReplicaReads replicaReads = mock(ReplicaReads.class);
+    private final DashboardService dashboardService = new DashboardService(mock(AlertRepository.class),
+            mock(AlertHistoryRepository.class), mock(AlertCounterService.class), mock(DriverLeaderboard.class),
+            rollups, replicaReads);
+
+    @Test
+    void dailyTrendsDefaultToTheFullRange() {
+        // Arrange
+        when(replicaReads.read(any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
+        List<Object[]> all = List.<Object[]>of(new Object[] { LocalDate.of(2020, 1, 1), 3L });
+        when(rollups.trends(null, null, AlertRollupService.Granularity.DAILY)).thenReturn(all);
+
+        // Act
+        List<Object[]> trends = dashboardService.getTrends(null, null, "daily");
+
+        // Assert - no bounds, like the original /trends/daily
+        assertEquals(all, trends);
+    }
+}
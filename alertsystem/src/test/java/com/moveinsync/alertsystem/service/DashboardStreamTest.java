@@ -0,0 +1,53 @@
+package com.moveinsync.alertsystem.service;
+
+import com.moveinsync.alertsystem.dto.DashboardEventDTO;
+import com.moveinsync.alertsystem.entity.Alert;
+import com.moveinsync.alertsystem.entity.AlertStatus;
+import com.moveinsync.alertsystem.entity.Severity;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DashboardStreamTest {
+
+    @Test
+    void createdThenClosedInOneIntervalIsOneCreatedEvent() {
+        // Arrange
+        Alert alert = new Alert();
+        alert.setAlertId(1L);
+        alert.setSourceType("OVERSPEEDING");
+        alert.setSeverity(Severity.WARNING);
+        alert.setStatus(AlertStatus.OPEN);
+
+        // Act
+        DashboardEventDTO merged = DashboardStream.merge(DashboardEventDTO.created(alert),
+                DashboardEventDTO.transition(1L, "OVERSPEEDING", null, Severity.WARNING,
+                        AlertStatus.OPEN, AlertStatus.AUTO_CLOSED));
+
+        // Assert - the alert only ever shows up on the dashboard as closed
+        assertEquals("created", merged.getType());
+        assertNull(merged.getPreviousStatus());
+        assertEquals(AlertStatus.AUTO_CLOSED, merged.getStatus());
+        assertEquals(Map.of("OVERSPEEDING:AUTO_CLOSED", 1L), DashboardStream.counterDeltas(List.of(merged)));
+    }
+
+    @Test
+    void counterDeltasNetOutPerKey() {
+        // Arrange - one alert escalated, another resolved from ESCALATED
+        List<DashboardEventDTO> events = List.of(
+                DashboardEventDTO.transition(1L, "FEEDBACK", null, Severity.CRITICAL,
+                        AlertStatus.OPEN, AlertStatus.ESCALATED),
+                DashboardEventDTO.transition(2L, "FEEDBACK", null, Severity.CRITICAL,
+                        AlertStatus.ESCALATED, AlertStatus.RESOLVED));
+
+        // Act
+        Map<String, Long> deltas = DashboardStream.counterDeltas(events);
+
+        // Assert - ESCALATED went +1 and -1, so it is left out
+        assertEquals(Map.of("FEEDBACK:OPEN", -1L, "FEEDBACK:RESOLVED", 1L), deltas);
+    }
+}
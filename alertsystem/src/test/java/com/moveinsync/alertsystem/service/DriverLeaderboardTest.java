@@ -0,0 +1,72 @@
+package com.moveinsync.alertsystem.service;
+
+import com.moveinsync.alertsystem.repository.AlertRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DriverLeaderboardTest {
+
+    private AlertRepository alertRepository;
+    private DriverLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        alertRepository = mock(AlertRepository.class);
+        leaderboard = new DriverLeaderboard(alertRepository);
+    }
+
+    @Test
+    void rankingFollowsOpensAndClosesPerSourceType() {
+        // Arrange - resync from the table, then live changes
+        when(alertRepository.countActiveBySourceTypeAndDriver(anyList())).thenReturn(List.of(
+                new Object[] { "overspeed", "DRV-1", 3L },
+                new Object[] { "overspeed", "DRV-2", 2L },
+                new Object[] { "feedback_negative", "DRV-2", 2L }));
+        leaderboard.resync();
+
+        // Act
+        leaderboard.closed("overspeed", "DRV-1");
+        leaderboard.closed("overspeed", "DRV-1");
+        leaderboard.opened("overspeed", "DRV-3");
+
+        // Assert
+        assertEquals(List.of(row("DRV-2", 4L), row("DRV-1", 1L)), leaderboard.top(null, 2));
+        assertEquals(List.of(row("DRV-2", 2L), row("DRV-1", 1L), row("DRV-3", 1L)),
+                leaderboard.top("overspeed", 5));
+    }
+
+    @Test
+    void driverWithNoActiveAlertsLeavesTheBoard() {
+        leaderboard.opened("overspeed", "DRV-9");
+        leaderboard.closed("overspeed", "DRV-9");
+
+        assertEquals(List.of(), leaderboard.top("overspeed", 5));
+    }
+
+    @Test
+    void changeCommittedDuringResyncSurvivesTheSwap() {
+        // Arrange - an alert opens after the table was read but before the rebuilt boards are swapped in
+        when(alertRepository.countActiveBySourceTypeAndDriver(anyList())).thenAnswer(invocation -> {
+            leaderboard.opened("overspeed", "DRV-4");
+            return List.<Object[]>of(new Object[] { "overspeed", "DRV-1", 1L });
+        });
+
+        // Act
+        leaderboard.resync();
+
+        // Assert
+        assertEquals(List.of(row("DRV-1", 1L), row("DRV-4", 1L)), leaderboard.top("overspeed", 5));
+    }
+
+    private static Map<String, Object> row(String driverId, long count) {
+        return Map.of("driverId", driverId, "count", count);
+    }
+}
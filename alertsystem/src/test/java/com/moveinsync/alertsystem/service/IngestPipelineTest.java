@@ -0,0 +1,153 @@
+package com.moveinsync.alertsystem.service;
+
+import com.moveinsync.alertsystem.dto.AlertRequestDTO;
+import com.moveinsync.alertsystem.dto.BatchAlertResultDTO;
+import com.moveinsync.alertsystem.dto.BatchIngestResponseDTO;
+import com.moveinsync.alertsystem.dto.IngestTicketDTO;
+import com.moveinsync.alertsystem.entity.AlertStatus;
+import com.moveinsync.alertsystem.exception.IngestBufferFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IngestPipelineTest {
+
+    private final AlertService alertService = mock(AlertService.class);
+
+    private IngestPipeline pipeline(int capacity) {
+        IngestPipeline pipeline = new IngestPipeline(alertService, new SimpleMeterRegistry(), capacity, 100);
+        ReflectionTestUtils.setField(pipeline, "workers", 1);
+        ReflectionTestUtils.setField(pipeline, "batchSize", 10);
+        ReflectionTestUtils.setField(pipeline, "lingerMs", 20L);
+        ReflectionTestUtils.setField(pipeline, "retryAfterSeconds", 3L);
+        return pipeline;
+    }
+
+    @Test
+    void submittedAlertIsPersistedAndTracked() throws Exception {
+        // Arrange - createAlerts accepts every item and assigns ids 100, 101, ...
+        when(alertService.createAlerts(anyList())).thenAnswer(invocation -> {
+            List<?> dtos = invocation.getArgument(0);
+            List<BatchAlertResultDTO> results = new ArrayList<>();
+            for (int i = 0; i < dtos.size(); i++) {
+                BatchAlertResultDTO result = new BatchAlertResultDTO();
+                result.setIndex(i);
+                result.setAccepted(true);
+                result.setAlertId(100L + i);
+                result.setStatus(AlertStatus.OPEN);
+                results.add(result);
+            }
+            BatchIngestResponseDTO response = new BatchIngestResponseDTO();
+            response.setAccepted(dtos.size());
+            response.setResults(results);
+            return response;
+        });
+        IngestPipeline pipeline = pipeline(10);
+        pipeline.start();
+
+        // Act
+        IngestTicketDTO ticket = pipeline.submit(new AlertRequestDTO());
+
+        // Assert
+        assertEquals(IngestTicketDTO.State.QUEUED, ticket.getState());
+        IngestTicketDTO done = awaitDone(pipeline, ticket);
+        assertEquals(IngestTicketDTO.State.PERSISTED, done.getState());
+        assertEquals(100L, done.getAlertId());
+        pipeline.stop();
+    }
+
+    @Test
+    void failedBatchOnlyFailsTheOffendingAlert() throws Exception {
+        // Arrange - any batch containing 'bad' rolls back as a whole
+        AlertRequestDTO good = new AlertRequestDTO();
+        AlertRequestDTO bad = new AlertRequestDTO();
+        when(alertService.createAlerts(anyList())).thenAnswer(invocation -> {
+            List<?> dtos = invocation.getArgument(0);
+            if (dtos.stream().anyMatch(dto -> dto == bad)) {
+                throw new IllegalStateException("constraint violation");
+            }
+            BatchAlertResultDTO result = new BatchAlertResultDTO();
+            result.setAccepted(true);
+            result.setAlertId(200L);
+            result.setStatus(AlertStatus.OPEN);
+            BatchIngestResponseDTO response = new BatchIngestResponseDTO();
+            response.setResults(List.of(result));
+            return response;
+        });
+        IngestPipeline pipeline = pipeline(10);
+        ReflectionTestUtils.setField(pipeline, "running", true);
+        IngestTicketDTO goodTicket = pipeline.submit(good);
+        IngestTicketDTO badTicket = pipeline.submit(bad);
+
+        // Act - both drained into one micro-batch
+        pipeline.start();
+
+        // Assert
+        assertEquals(IngestTicketDTO.State.PERSISTED, awaitDone(pipeline, goodTicket).getState());
+        assertEquals(IngestTicketDTO.State.FAILED, awaitDone(pipeline, badTicket).getState());
+        pipeline.stop();
+    }
+
+    @Test
+    void concurrentDuplicateOnTheRetryIsReportedAsTheStoredAlert() throws Exception {
+        // Arrange - the micro-batch rolls back; on its own the alert turns out to be stored already as 42
+        AlertRequestDTO first = new AlertRequestDTO();
+        AlertRequestDTO repeat = new AlertRequestDTO();
+        when(alertService.createAlerts(anyList())).thenAnswer(invocation -> {
+            List<?> dtos = invocation.getArgument(0);
+            if (dtos.size() > 1) {
+                throw new IllegalStateException("Duplicate entry for uk_alert_fingerprint");
+            }
+            BatchAlertResultDTO result = BatchAlertResultDTO.duplicate(0, 42L);
+            BatchIngestResponseDTO response = new BatchIngestResponseDTO();
+            response.setResults(List.of(result));
+            return response;
+        });
+        IngestPipeline pipeline = pipeline(10);
+        ReflectionTestUtils.setField(pipeline, "running", true);
+        pipeline.submit(first);
+        IngestTicketDTO repeatTicket = pipeline.submit(repeat);
+
+        // Act
+        pipeline.start();
+
+        // Assert - not FAILED, so the client does not resubmit it
+        IngestTicketDTO done = awaitDone(pipeline, repeatTicket);
+        assertEquals(IngestTicketDTO.State.DUPLICATE, done.getState());
+        assertEquals(42L, done.getAlertId());
+        pipeline.stop();
+    }
+
+    @Test
+    void fullBufferIsRejectedWithRetryHint() {
+        // Arrange - running without workers, so nothing drains the single slot
+        IngestPipeline pipeline = pipeline(1);
+        ReflectionTestUtils.setField(pipeline, "running", true);
+        pipeline.submit(new AlertRequestDTO());
+
+        // Act
+        IngestBufferFullException ex = assertThrows(IngestBufferFullException.class,
+                () -> pipeline.submit(new AlertRequestDTO()));
+
+        // Assert
+        assertEquals(3L, ex.getRetryAfterSeconds());
+    }
+
+    private static IngestTicketDTO awaitDone(IngestPipeline pipeline, IngestTicketDTO ticket) throws Exception {
+        IngestTicketDTO done = ticket;
+        for (int i = 0; i < 100 && done.getState() == IngestTicketDTO.State.QUEUED; i++) {
+            Thread.sleep(20);
+            done = pipeline.status(ticket.getTrackingId());
+        }
+        return done;
+    }
+}
@@ -0,0 +1,36 @@
+package com.moveinsync.alertsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moveinsync.alertsystem.dto.AlertMetadata;
+import com.moveinsync.alertsystem.dto.AlertRequestDTO;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class MetadataParserTest {
+
+    private static final String METADATA = "{\"driverID\": \"DRV-001\", \"vehicleId\": \"VH-123\", "
+            + "\"speed_kmph\": 95, \"limit_kmph\": 60, \"location\": \"Highway NH-44\"}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MetadataParser parser = new MetadataParser(objectMapper);
+
+    @Test
+    void wellKnownFieldsAreTypedAndTheTreeIsParsedOnce() {
+        // Arrange
+        AlertRequestDTO dto = new AlertRequestDTO();
+        dto.setMetadata(METADATA);
+
+        // Act
+        AlertMetadata first = parser.parse(dto);
+        AlertMetadata second = parser.parse(dto);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals("DRV-001", first.driverId());
+        assertEquals(95.0, first.speedKmph());
+        assertNull(parser.parse("{not json"));
+    }
+}
@@ -1,5 +1,5 @@
 import axios from 'axios';
-import type { Alert, AlertRequestDTO, AlertHistory, PaginatedResponse } from '../types';
+import type { Alert, AlertFilter, AlertRequestDTO, AlertHistory, AlertSlice, AlertSummary, PaginatedResponse } from '../types';
 
 // Single axios instance using the Vite proxy (all /api/* goes to localhost:8080)
 export const api = axios.create({
@@ -30,12 +30,21 @@ api.interceptors.response.use(
 export const alertService = {
     // ─── Alert CRUD ─────────────────────────────────────────────────────────
     getAlerts: async (page = 0, size = 10, sortBy = 'timestamp') => {
-        const response = await api.get<PaginatedResponse<Alert>>('/alerts', {
+        const response = await api.get<PaginatedResponse<AlertSummary>>('/alerts', {
             params: { page, size, sortBy }
         });
         return response.data;
     },
 
+    // Keyset listing; pass the previous slice's nextCursor to continue
+    searchAlerts: async (filter: AlertFilter = {}, cursor?: string, size = 20, includeTotal = false) => {
+        const response = await api.get<AlertSlice>('/alerts/search', {
+            params: { ...filter, cursor, size, includeTotal },
+            paramsSerializer: { indexes: null }, // status=OPEN&status=ESCALATED
+        });
+        return response.data;
+    },
+
     getAlertById: async (id: number) => {
         const response = await api.get<Alert>(`/alerts/${id}`);
         return response.data;
@@ -73,7 +82,7 @@ export const alertService = {
     },
 
     getRecentAutoClosed: async (filter: '24h' | '7d' = '24h') => {
-        const response = await api.get<Alert[]>('/dashboard/recent-autoclosed', {
+        const response = await api.get<AlertSummary[]>('/dashboard/recent-autoclosed', {
             params: { filter }
         });
         return response.data;
@@ -0,0 +1,41 @@
+import type { DashboardFrame } from '../types';
+
+type FrameHandler = (name: 'snapshot' | 'delta', frame: Partial<DashboardFrame>) => void;
+
+// EventSource can't send the Authorization header, so the SSE stream is read with fetch
+export const openDashboardStream = async (onFrame: FrameHandler, signal: AbortSignal) => {
+    const token = localStorage.getItem('token');
+    const response = await fetch('/api/dashboard/stream', {
+        headers: {
+            Accept: 'text/event-stream',
+            ...(token ? { Authorization: `Bearer ${token}` } : {}),
+        },
+        signal,
+    });
+    if (!response.ok || !response.body) {
+        throw new Error(`Dashboard stream failed with status ${response.status}`);
+    }
+
+    const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+    let buffer = '';
+    for (;;) {
+        const { value, done } = await reader.read();
+        if (done) return;
+        buffer += value;
+
+        // Frames are separated by a blank line; keep any partial frame for the next chunk
+        const frames = buffer.split('\n\n');
+        buffer = frames.pop() ?? '';
+        for (const raw of frames) {
+            let name = 'message';
+            const data: string[] = [];
+            for (const line of raw.split('\n')) {
+                if (line.startsWith('event:')) name = line.slice(6).trim();
+                else if (line.startsWith('data:')) data.push(line.slice(5));
+            }
+            if ((name === 'snapshot' || name === 'delta') && data.length) {
+                onFrame(name, JSON.parse(data.join('\n')));
+            }
+        }
+    }
+};
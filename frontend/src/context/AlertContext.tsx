@@ -1,10 +1,10 @@
 import { createContext, useContext, useState, useCallback, type ReactNode } from 'react';
 import { alertService } from '../api/alertService';
-import type { Alert, PaginatedResponse } from '../types';
+import type { AlertSummary, PaginatedResponse } from '../types';
 import toast from 'react-hot-toast';
 
 interface AlertContextType {
-    alerts: Alert[];
+    alerts: AlertSummary[];
     totalElements: number;
     totalPages: number;
     currentPage: number;
@@ -16,7 +16,7 @@ interface AlertContextType {
 const AlertContext = createContext<AlertContextType | undefined>(undefined);
 
 export const AlertProvider = ({ children }: { children: ReactNode }) => {
-    const [alerts, setAlerts] = useState<Alert[]>([]);
+    const [alerts, setAlerts] = useState<AlertSummary[]>([]);
     const [totalElements, setTotalElements] = useState(0);
     const [totalPages, setTotalPages] = useState(0);
     const [currentPage, setCurrentPage] = useState(0);
@@ -25,7 +25,7 @@ export const AlertProvider = ({ children }: { children: ReactNode }) => {
     const fetchAlerts = useCallback(async (page = 0, size = 10) => {
         setLoading(true);
         try {
-            const response: PaginatedResponse<Alert> = await alertService.getAlerts(page, size);
+            const response: PaginatedResponse<AlertSummary> = await alertService.getAlerts(page, size);
             setAlerts(response.content);
             setTotalElements(response.totalElements);
             setTotalPages(response.totalPages);
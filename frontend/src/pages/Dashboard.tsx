@@ -1,35 +1,154 @@
-import { useState } from 'react';
-import { useQuery } from '@tanstack/react-query';
+import { useEffect, useState } from 'react';
+import { useQuery, useQueryClient } from '@tanstack/react-query';
 import { alertService } from '../api/alertService';
+import { openDashboardStream } from '../api/dashboardStream';
 import { SeverityBadge, StatusBadge } from '../components/Badge';
 import { useNavigate } from 'react-router-dom';
 import { AlertCircle, ChevronLeft, ChevronRight, Loader2, Trophy, AlertTriangle, Info, Skull } from 'lucide-react';
 import { AlertDetail } from './AlertDetail';
-import type { Alert, PaginatedResponse } from '../types';
+import type { AlertStatus, AlertSummary, DashboardEvent, PaginatedResponse } from '../types';
+
+type Offender = { driverId: string; count: number };
+
+const PAGE_SIZE = 10;
+const TOP_OFFENDERS = 5;
+// The old polling intervals; refetches the stream can't replace run at most this often
+const ALERTS_REFETCH_MS = 5000;
+const OFFENDERS_REFETCH_MS = 10000;
+
+const isActive = (status: AlertStatus | null) => status === 'OPEN' || status === 'ESCALATED';
+
+// Patches one cached page in place; new alerts go on top of the first page (newest-first sort)
+const applyToPage = (data: PaginatedResponse<AlertSummary> | undefined, page: number, events: DashboardEvent[]) => {
+    if (!data) return data;
+    const changed = new Map(events.filter((e) => e.type === 'transition').map((e) => [e.alertId, e]));
+    let content = data.content.map((alert) => {
+        const event = changed.get(alert.alertId);
+        return event ? { ...alert, status: event.status, severity: event.severity } : alert;
+    });
+    const listed = new Set(data.content.map((alert) => alert.alertId));
+    // A refetch that raced the frame may already list the alert
+    const created = events.filter((e) => e.type === 'created' && !listed.has(e.alertId));
+    if (page === 0 && created.length) {
+        const rows: AlertSummary[] = created.reverse().map((e) => ({
+            alertId: e.alertId, sourceType: e.sourceType, driverId: e.driverId,
+            severity: e.severity, status: e.status, timestamp: e.at,
+        }));
+        content = [...rows, ...content].slice(0, PAGE_SIZE);
+    }
+    const totalElements = data.totalElements + created.length;
+    return { ...data, content, totalElements, totalPages: Math.ceil(totalElements / PAGE_SIZE) };
+};
+
+// Returns the patched board, or null when a driver outside it moved and only the server knows the new order
+const applyToOffenders = (board: Offender[] | undefined, events: DashboardEvent[]) => {
+    if (!board) return null;
+    // A board shorter than the limit lists every driver with active alerts
+    const complete = board.length < TOP_OFFENDERS;
+    const counts = new Map(board.map((o) => [o.driverId, o.count]));
+    let shrank = false;
+    for (const e of events) {
+        if (!e.driverId) continue;
+        const delta = (isActive(e.status) ? 1 : 0) - (e.type === 'transition' && isActive(e.previousStatus) ? 1 : 0);
+        if (!delta) continue;
+        if (!counts.has(e.driverId) && !complete) return null;
+        counts.set(e.driverId, (counts.get(e.driverId) ?? 0) + delta);
+        shrank ||= delta < 0;
+    }
+    // A shrinking count can let an unseen driver into the top 5
+    if (shrank && !complete) return null;
+    return [...counts].map(([driverId, count]) => ({ driverId, count }))
+        .filter((o) => o.count > 0)
+        .sort((a, b) => b.count - a.count)
+        .slice(0, TOP_OFFENDERS);
+};
 
 export const Dashboard = () => {
     const navigate = useNavigate();
     const [page, setPage] = useState(0);
     const [selectedAlertId, setSelectedAlertId] = useState<number | null>(null);
+    const [live, setLive] = useState(false);
+    const queryClient = useQueryClient();
+
+    // Server-pushed deltas; polling below only runs while the stream is down
+    useEffect(() => {
+        const controller = new AbortController();
+        let retry: ReturnType<typeof setTimeout>;
+        const pending = new Map<string, ReturnType<typeof setTimeout>>();
+        const lastRefetch = new Map<string, number>();
+
+        // Throttled to the old polling rate, so a busy stream never refetches more than polling did
+        const refetchSoon = (key: string, intervalMs: number) => {
+            if (pending.has(key)) return;
+            const wait = Math.max(0, (lastRefetch.get(key) ?? 0) + intervalMs - Date.now());
+            pending.set(key, setTimeout(() => {
+                pending.delete(key);
+                lastRefetch.set(key, Date.now());
+                queryClient.invalidateQueries({ queryKey: [key] });
+            }, wait));
+        };
+
+        const connect = () => {
+            openDashboardStream((name, frame) => {
+                setLive(true);
+                if (frame.severityCounts) {
+                    queryClient.setQueryData(['severityCounts'], frame.severityCounts);
+                }
+                if (name !== 'delta') return;
+                if (frame.dropped) {
+                    // Events were lost; the cache can't be patched reliably
+                    refetchSoon('alerts', ALERTS_REFETCH_MS);
+                    refetchSoon('topOffenders', OFFENDERS_REFETCH_MS);
+                    return;
+                }
+                const events = frame.events ?? [];
+                if (!events.length) return;
+                queryClient.getQueriesData<PaginatedResponse<AlertSummary>>({ queryKey: ['alerts'] })
+                    .forEach(([key, data]) => queryClient.setQueryData(key, applyToPage(data, key[1] as number, events)));
+                if (events.some((e) => e.type === 'created')) {
+                    // Later pages shift by one; catch them up at polling pace
+                    refetchSoon('alerts', ALERTS_REFETCH_MS);
+                }
+                const board = applyToOffenders(queryClient.getQueryData<Offender[]>(['topOffenders']), events);
+                if (board) {
+                    queryClient.setQueryData(['topOffenders'], board);
+                } else {
+                    refetchSoon('topOffenders', OFFENDERS_REFETCH_MS);
+                }
+            }, controller.signal)
+                .catch(() => undefined)
+                .finally(() => {
+                    setLive(false);
+                    if (!controller.signal.aborted) retry = setTimeout(connect, 5000);
+                });
+        };
+        connect();
+
+        return () => {
+            controller.abort();
+            clearTimeout(retry);
+            pending.forEach(clearTimeout);
+        };
+    }, [queryClient]);
 
-    // Queries using React Query for automatic polling & caching natively
-    const { data: alertsData, isLoading: alertsLoading } = useQuery<PaginatedResponse<Alert>>({
+    // Queries using React Query for caching; they poll only as a fallback when the stream is down
+    const { data: alertsData, isLoading: alertsLoading } = useQuery<PaginatedResponse<AlertSummary>>({
         queryKey: ['alerts', page],
-        queryFn: () => alertService.getAlerts(page, 10, 'timestamp'),
-        refetchInterval: 5000,    // Poll alerts table every 5s
+        queryFn: () => alertService.getAlerts(page, PAGE_SIZE, 'timestamp'),
+        refetchInterval: live ? false : ALERTS_REFETCH_MS,
         refetchOnMount: true,
     });
 
     const { data: severityCounts } = useQuery({
         queryKey: ['severityCounts'],
         queryFn: () => alertService.getSeverityCounts(),
-        refetchInterval: 5000 // Poll every 5s
+        refetchInterval: live ? false : 5000
     });
 
     const { data: topOffenders } = useQuery({
         queryKey: ['topOffenders'],
         queryFn: () => alertService.getTopOffenders(),
-        refetchInterval: 10000 // Poll every 10s
+        refetchInterval: live ? false : OFFENDERS_REFETCH_MS
     });
 
     const formatDate = (dateString: string) => {
@@ -11,12 +11,16 @@ export interface RuleConfig {
 export interface Alert {
     alertId: number;
     sourceType: string;
+    driverId: string | null;
     severity: Severity;
     timestamp: string; // ISO 8601 string from LocalDateTime
     status: AlertStatus;
     metadata: string;
 }
 
+// List/dashboard rows — the backend omits metadata outside GET /alerts/{id}
+export type AlertSummary = Omit<Alert, 'metadata'>;
+
 export interface AlertRequestDTO {
     sourceType: string;
     metadata: string;
@@ -44,3 +48,40 @@ export interface PaginatedResponse<T> {
     numberOfElements: number;
     empty: boolean;
 }
+
+export interface AlertFilter {
+    status?: AlertStatus[];
+    severity?: Severity[];
+    sourceType?: string;
+    driverId?: string;
+    from?: string; // ISO date-time, inclusive
+    to?: string;   // ISO date-time, exclusive
+}
+
+export interface AlertSlice {
+    content: AlertSummary[];
+    size: number;
+    hasNext: boolean;
+    nextCursor: string | null;
+    totalElements: number | null;
+}
+
+export type SeverityCounts = Record<Severity, number>;
+
+export interface DashboardEvent {
+    type: 'created' | 'transition';
+    alertId: number;
+    sourceType: string;
+    driverId: string | null;
+    severity: Severity;
+    previousStatus: AlertStatus | null;
+    status: AlertStatus;
+    at: string;
+}
+
+// One coalesced frame from /api/dashboard/stream
+export interface DashboardFrame {
+    events: DashboardEvent[];
+    dropped: number;
+    severityCounts: SeverityCounts;
+}